@@ -0,0 +1,124 @@
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One alarm: a wall-clock time, either once on a given date or every week on
+ * chosen days, plus an optional pending snooze. Immutable; changes make a
+ * copy. Fire times are worked out against a zone when asked, so they follow
+ * DST and zone changes instead of being fixed when the alarm was set.
+ */
+public final class Alarm {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a", Locale.US);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEE d MMM", Locale.US);
+
+    final int id;
+    final LocalTime time;
+    // Set for a one-off alarm, null for a weekly one
+    final LocalDate date;
+    final Set<DayOfWeek> days;
+    final String label;
+    // Sound files played in turn while it rings, never empty; see AlarmAudio
+    final List<String> sounds;
+    final boolean enabled;
+    // Extra one-time fire requested from the alarm dialog, or null
+    final Instant snoozedUntil;
+
+    private Alarm(int id, LocalTime time, LocalDate date, Set<DayOfWeek> days, String label, List<String> sounds,
+                  boolean enabled, Instant snoozedUntil) {
+        this.id = id;
+        this.time = time;
+        this.date = date;
+        this.days = days;
+        this.label = label;
+        this.sounds = sounds;
+        this.enabled = enabled;
+        this.snoozedUntil = snoozedUntil;
+    }
+
+    static Alarm once(int id, LocalDateTime at, String label) {
+        return new Alarm(id, at.toLocalTime(), at.toLocalDate(), Collections.emptySet(), label, List.of(AlarmAudio.DEFAULT_SOUND), true, null);
+    }
+
+    static Alarm weekly(int id, LocalTime time, Set<DayOfWeek> days, String label) {
+        return new Alarm(id, time, null, Collections.unmodifiableSet(EnumSet.copyOf(days)), label, List.of(AlarmAudio.DEFAULT_SOUND), true, null);
+    }
+
+    /** A one-off alarm for the next time the clock shows {@code time}. */
+    static Alarm next(int id, LocalTime time, String label, ZoneId zone) {
+        LocalDateTime now = LocalDateTime.now(zone);
+        LocalDateTime at = now.toLocalDate().atTime(time);
+        return once(id, at.isAfter(now) ? at : at.plusDays(1), label);
+    }
+
+    boolean isRepeating() {
+        return date == null;
+    }
+
+    /** Turning an alarm off also drops its snooze. */
+    Alarm withEnabled(boolean on) {
+        return new Alarm(id, time, date, days, label, sounds, on, on ? snoozedUntil : null);
+    }
+
+    Alarm withSnooze(Instant until) {
+        return new Alarm(id, time, date, days, label, sounds, enabled, until);
+    }
+
+    /** Sounds to ring in turn; none means the default. */
+    Alarm withSounds(List<String> files) {
+        List<String> copy = files.isEmpty() ? List.of(AlarmAudio.DEFAULT_SOUND) : List.copyOf(files);
+        return new Alarm(id, time, date, days, label, copy, enabled, snoozedUntil);
+    }
+
+    /** First time after {@code after} this alarm should ring, or null if it never will. */
+    Instant nextFire(Instant after, ZoneId zone) {
+        Instant next = snoozedUntil != null && snoozedUntil.isAfter(after) ? snoozedUntil : null;
+        if (!enabled) return next;
+        Instant regular = null;
+        if (date != null) {
+            // In a DST gap the time moves forward; in an overlap the first occurrence is used
+            Instant t = ZonedDateTime.of(date, time, zone).toInstant();
+            if (t.isAfter(after)) regular = t;
+        } else if (!days.isEmpty()) {
+            LocalDate d = after.atZone(zone).toLocalDate();
+            // Eight days so today's day also gets its slot next week
+            for (int i = 0; i <= 7 && regular == null; i++, d = d.plusDays(1)) {
+                if (!days.contains(d.getDayOfWeek())) continue;
+                Instant t = ZonedDateTime.of(d, time, zone).toInstant();
+                if (t.isAfter(after)) regular = t;
+            }
+        }
+        if (next == null || (regular != null && regular.isBefore(next))) next = regular;
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(TIME_FORMAT.format(time)).append("   ");
+        if (date != null) {
+            sb.append(DATE_FORMAT.format(date)).append(" (once)");
+        } else if (days.size() == 7) {
+            sb.append("every day");
+        } else {
+            for (DayOfWeek d : days) sb.append(d.getDisplayName(TextStyle.SHORT, Locale.US)).append(' ');
+        }
+        if (!label.isEmpty()) sb.append("   ").append(label);
+        if (!sounds.equals(List.of(AlarmAudio.DEFAULT_SOUND))) sb.append("   ♪ ").append(String.join(", ", sounds));
+        if (!enabled) sb.append("   (off)");
+        if (snoozedUntil != null) {
+            sb.append("   snoozed until ").append(TIME_FORMAT.format(snoozedUntil.atZone(ZoneId.systemDefault())));
+        }
+        return sb.toString();
+    }
+}
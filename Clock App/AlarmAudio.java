@@ -0,0 +1,310 @@
+import javax.sound.sampled.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Alarm sounds, decoded ahead of time so ringing does not wait on the disk.
+ * A sound is loaded once, on {@link #preload} or on first use. Short sounds
+ * are decoded to PCM into a {@link Clip} that stays open and is rewound for
+ * every ring. Anything longer than {@link #CLIP_LIMIT_BYTES} of PCM is
+ * streamed from the file through a {@link SourceDataLine} with a fixed
+ * buffer, so it never sits in memory whole. A missing or unreadable file
+ * falls back to a generated beep rather than a silent alarm. An alarm with
+ * several sounds rings them one after another, round and round.
+ *
+ * Load time per sound and the delay from {@link #play} to the line actually
+ * starting are kept for {@link #report()}.
+ */
+public final class AlarmAudio {
+    static final String DEFAULT_SOUND = "alarm.wav";
+    static final String SOUND_DIR = "sounds";
+    // About six seconds of 44.1 kHz 16-bit stereo
+    static final int CLIP_LIMIT_BYTES = 1 << 20;
+    private static final int STREAM_BUFFER = 16 * 1024;
+    private static final String[] EXTENSIONS = {".wav", ".aiff", ".aif", ".au"};
+
+    /** A decoded sound: an open clip, the format to stream it in, or neither when there is no output. */
+    private static final class Sound {
+        final String name;
+        final Clip clip;
+        final AudioFormat format;
+        final long loadNanos;
+        // For the report: clip, streamed, beep or no audio output
+        final String kind;
+
+        Sound(String name, Clip clip, AudioFormat format, long loadNanos, String kind) {
+            this.name = name;
+            this.clip = clip;
+            this.format = format;
+            this.loadNanos = loadNanos;
+            this.kind = kind;
+        }
+    }
+
+    private final Map<String, CompletableFuture<Sound>> sounds = new ConcurrentHashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "alarm-audio-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // The one ring going now; play() replaces it. Clips are cached and shared between rings,
+    // so only the current ring may start or stop one, and stop() silences whichever is playing.
+    private Clip playingClip;
+    private Thread ringThread;
+    // Bumped by every play and stop, so a play whose sounds were still loading can tell it was overtaken
+    private long rings;
+
+    // Trigger time of the ring whose line has not started yet, 0 when none
+    private volatile long triggerNanos;
+    private long latencyCount, latencySum, latencyMax, latencyLast;
+
+    /** Sound names to offer: the default plus any audio files in {@link #SOUND_DIR}. */
+    static List<String> available() {
+        List<String> names = new ArrayList<>();
+        names.add(DEFAULT_SOUND);
+        File[] files = new File(SOUND_DIR).listFiles();
+        if (files != null) {
+            Arrays.sort(files);
+            for (File f : files) {
+                String lower = f.getName().toLowerCase();
+                for (String ext : EXTENSIONS) {
+                    if (f.isFile() && lower.endsWith(ext)) names.add(SOUND_DIR + "/" + f.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    /** Starts loading {@code name} in the background if it is not cached yet. */
+    public void preload(String name) {
+        sound(name);
+    }
+
+    private CompletableFuture<Sound> sound(String name) {
+        return sounds.computeIfAbsent(name, n -> CompletableFuture.supplyAsync(() -> load(n), loader));
+    }
+
+    public void play(String name) {
+        play(List.of(name));
+    }
+
+    /**
+     * Rings {@code names} in turn, in a loop, until {@link #stop}, replacing
+     * whatever is ringing. Returns at once for cached sounds; uncached ones
+     * are loaded first, without holding up {@link #stop} meanwhile.
+     */
+    public void play(List<String> names) {
+        List<CompletableFuture<Sound>> loads = new ArrayList<>();
+        for (String n : names) loads.add(sound(n));
+        long ring;
+        synchronized (this) {
+            stop();
+            ring = rings;
+            triggerNanos = System.nanoTime();
+        }
+        List<Sound> playable = new ArrayList<>();
+        for (CompletableFuture<Sound> f : loads) {
+            Sound s = f.join();
+            if (s.clip != null || s.format != null) playable.add(s);
+        }
+        synchronized (this) {
+            if (ring != rings || playable.isEmpty()) return;
+            if (playable.size() == 1 && playable.get(0).clip != null) {
+                playingClip = playable.get(0).clip;
+                playingClip.setFramePosition(0);
+                playingClip.loop(Clip.LOOP_CONTINUOUSLY);
+            } else {
+                ringThread = Thread.ofPlatform().daemon().name("alarm-audio-ring").start(() -> ring(playable, ring));
+            }
+        }
+    }
+
+    public synchronized void stop() {
+        rings++;
+        triggerNanos = 0;
+        if (playingClip != null) {
+            playingClip.stop();
+            playingClip = null;
+        }
+        if (ringThread != null) {
+            // The ring checks its interrupt flag between buffers and wakes from its sleep
+            ringThread.interrupt();
+            ringThread = null;
+        }
+    }
+
+    private Sound load(String name) {
+        long start = System.nanoTime();
+        AudioFormat format;
+        byte[] data;
+        try (AudioInputStream in = pcm(AudioSystem.getAudioInputStream(new File(name)))) {
+            format = in.getFormat();
+            long bytes = in.getFrameLength() * format.getFrameSize();
+            if (in.getFrameLength() == AudioSystem.NOT_SPECIFIED || bytes > CLIP_LIMIT_BYTES) {
+                return new Sound(name, null, format, System.nanoTime() - start, "streamed");
+            }
+            data = in.readAllBytes();
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            System.err.println("Alarm sound " + name + " unavailable (" + e.getMessage() + "), using a beep");
+            return beep(name, start);
+        }
+        return clip(name, format, data, start, "clip");
+    }
+
+    private Sound clip(String name, AudioFormat format, byte[] data, long start, String kind) {
+        try {
+            Clip clip = AudioSystem.getClip();
+            clip.addLineListener(this::lineEvent);
+            clip.open(format, data, 0, data.length);
+            return new Sound(name, clip, format, System.nanoTime() - start, kind);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("No audio output for " + name + ": " + e.getMessage());
+            return new Sound(name, null, null, System.nanoTime() - start, "no audio output");
+        }
+    }
+
+    private Sound beep(String name, long start) {
+        // Half a second of 880 Hz, then half a second of silence
+        AudioFormat format = new AudioFormat(44_100, 16, 1, true, false);
+        byte[] data = new byte[44_100 * 2];
+        for (int i = 0; i < 22_050; i++) {
+            short v = (short) (Math.sin(2 * Math.PI * 880 * i / 44_100) * 12_000);
+            data[2 * i] = (byte) v;
+            data[2 * i + 1] = (byte) (v >> 8);
+        }
+        return clip(name, format, data, start, "beep");
+    }
+
+    /** Decoded to signed 16-bit PCM if the file is compressed or in an unusual encoding. */
+    private static AudioInputStream pcm(AudioInputStream in) {
+        AudioFormat f = in.getFormat();
+        if (f.getEncoding() == AudioFormat.Encoding.PCM_SIGNED || f.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED) return in;
+        AudioFormat target = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, f.getSampleRate(), 16,
+            f.getChannels(), f.getChannels() * 2, f.getSampleRate(), false);
+        return AudioSystem.getAudioInputStream(target, in);
+    }
+
+    /** Plays each sound once, over and over, until interrupted or {@code ring} is no longer current. */
+    private void ring(List<Sound> playable, long ring) {
+        byte[] buffer = new byte[STREAM_BUFFER];
+        // A lone streamed sound loops on one line, without a gap between passes
+        boolean loop = playable.size() == 1;
+        while (!Thread.currentThread().isInterrupted()) {
+            // Give up once a whole round fails, rather than spinning on lines that will not open
+            boolean played = false;
+            for (Sound s : playable) {
+                if (Thread.currentThread().isInterrupted()) return;
+                if (s.clip != null) {
+                    synchronized (this) {
+                        if (ring != rings) return;
+                        playingClip = s.clip;
+                        s.clip.setFramePosition(0);
+                        s.clip.start();
+                    }
+                    try {
+                        Thread.sleep(Math.max(1, s.clip.getMicrosecondLength() / 1000));
+                    } catch (InterruptedException e) {
+                        return;
+                    } finally {
+                        synchronized (this) {
+                            // After a stop() the clip may already belong to a newer ring
+                            if (ring == rings) {
+                                s.clip.stop();
+                                playingClip = null;
+                            }
+                        }
+                    }
+                    played = true;
+                } else {
+                    played |= stream(s, buffer, loop);
+                }
+            }
+            if (!played) return;
+        }
+    }
+
+    /** Streams the file once, or until interrupted with {@code loop}; false if it could not. */
+    private boolean stream(Sound s, byte[] buffer, boolean loop) {
+        try (SourceDataLine line = AudioSystem.getSourceDataLine(s.format)) {
+            line.addLineListener(this::lineEvent);
+            line.open(s.format, STREAM_BUFFER * 2);
+            line.start();
+            // Reopen the file at the end of each pass
+            do {
+                try (AudioInputStream in = pcm(AudioSystem.getAudioInputStream(new File(s.name)))) {
+                    for (int n; !Thread.currentThread().isInterrupted() && (n = in.read(buffer, 0, buffer.length - buffer.length % s.format.getFrameSize())) > 0; ) {
+                        line.write(buffer, 0, n);
+                    }
+                }
+            } while (loop && !Thread.currentThread().isInterrupted());
+            if (!Thread.currentThread().isInterrupted()) line.drain();
+            line.stop();
+            line.flush();
+            return true;
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Could not stream " + s.name + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void lineEvent(LineEvent e) {
+        if (e.getType() != LineEvent.Type.START) return;
+        long trigger = triggerNanos;
+        if (trigger == 0) return;
+        triggerNanos = 0;
+        long latency = System.nanoTime() - trigger;
+        synchronized (this) {
+            latencyCount++;
+            latencySum += latency;
+            latencyMax = Math.max(latencyMax, latency);
+            latencyLast = latency;
+        }
+    }
+
+    /** Load times and trigger-to-sound latency, one line per item. */
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, CompletableFuture<Sound>> e : sounds.entrySet()) {
+            Sound s = e.getValue().getNow(null);
+            if (s == null) {
+                sb.append(String.format("%s: loading%n", e.getKey()));
+                continue;
+            }
+            sb.append(String.format("%s: %s, loaded in %.1f ms%n", s.name, s.kind, s.loadNanos / 1e6));
+        }
+        if (latencyCount > 0) {
+            sb.append(String.format("ring latency: last %.1f ms, mean %.1f ms, max %.1f ms over %d rings%n",
+                latencyLast / 1e6, latencySum / 1e6 / latencyCount, latencyMax / 1e6, latencyCount));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Loads the given sounds (default: everything {@link #available()}), rings
+     * each briefly and prints the report.
+     *
+     * <pre>
+     * java AlarmAudio [sound...]
+     * </pre>
+     */
+    public static void main(String[] args) throws InterruptedException {
+        List<String> names = args.length > 0 ? Arrays.asList(args) : available();
+        AlarmAudio audio = new AlarmAudio();
+        for (String n : names) audio.preload(n);
+        for (String n : names) {
+            audio.play(n);
+            Thread.sleep(1500);
+            audio.stop();
+        }
+        System.out.print(audio.report());
+    }
+}
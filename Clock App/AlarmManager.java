@@ -1,68 +1,153 @@
-import javax.sound.sampled.*;
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
 
+/**
+ * Alarm list on top of {@link AlarmScheduler}: add one-off or weekly alarms,
+ * switch them on and off, and stop or snooze one when it rings. Nothing here
+ * polls the clock; the scheduler calls back when an alarm is due. Sounds come
+ * from {@link AlarmAudio}, preloaded as alarms are listed and started from
+ * the scheduler thread before the dialog is built.
+ */
 public class AlarmManager extends JPanel {
-    private String alarmTime = "";
-    private final SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm a");
-    private boolean alarmPlaying = false;
-    private Clip clip;
-    private String triggeredTime = "";
+    static final String ALARM_FILE = "alarms.txt";
+    static final Duration SNOOZE = Duration.ofMinutes(5);
+    // Stop ringing after a minute if nobody answers
+    private static final int RING_MILLIS = 60_000;
+    private static final DateTimeFormatter[] TIME_FORMATS = {
+        new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h:mm a").toFormatter(Locale.US),
+        DateTimeFormatter.ofPattern("H:mm")
+    };
+
+    private final DefaultListModel<Alarm> model = new DefaultListModel<>();
+    private final JList<Alarm> list = new JList<>(model);
+    private final JLabel audioStatus = new JLabel(" ");
+    private final AlarmAudio audio = new AlarmAudio();
+    private final AlarmScheduler scheduler;
+    private final Timer ringTimeout = new Timer(RING_MILLIS, _ -> stopAlarmSound());
 
     public AlarmManager() {
         setLayout(new BorderLayout());
-        JButton setAlarm = new JButton("Set Alarm");
-        add(setAlarm, BorderLayout.NORTH);
+        JButton setAlarm = new JButton("Set Alarm"), toggle = new JButton("On/Off"), remove = new JButton("Remove");
+        JPanel buttons = new JPanel();
+        buttons.add(setAlarm);
+        buttons.add(toggle);
+        buttons.add(remove);
+        add(buttons, BorderLayout.NORTH);
+        list.setFont(new Font("Consolas", Font.PLAIN, 16));
+        add(new JScrollPane(list), BorderLayout.CENTER);
+        add(audioStatus, BorderLayout.SOUTH);
+        ringTimeout.setRepeats(false);
+        audio.preload(AlarmAudio.DEFAULT_SOUND);
 
-        setAlarm.addActionListener(_ -> {
-            alarmTime = JOptionPane.showInputDialog("Set alarm (hh:mm AM/PM):");
-            if (alarmTime != null && !alarmTime.isEmpty()) {
-                JOptionPane.showMessageDialog(this, "Alarm set for " + alarmTime);
+        scheduler = new AlarmScheduler(Paths.get(ALARM_FILE), new AlarmScheduler.Listener() {
+            @Override
+            public void alarmFired(Alarm alarm, Instant scheduled, long lateNanos) {
+                audio.play(alarm.sounds);
+                SwingUtilities.invokeLater(() -> ring(alarm));
             }
-        });
-
-        Timer t = new Timer(1000, _ -> {
-            String now = timeFormat.format(Calendar.getInstance().getTime());
 
-            if (alarmTime != null && now.equalsIgnoreCase(alarmTime) && !alarmPlaying) {
-                triggeredTime = now;
-                playAlarmSound();
+            @Override
+            public void alarmsChanged(List<Alarm> alarms) {
+                for (Alarm a : alarms) a.sounds.forEach(audio::preload);
+                SwingUtilities.invokeLater(() -> showAlarms(alarms));
             }
+        });
 
-            // Stop after 1 minute
-            if (alarmPlaying && !now.equals(triggeredTime)) {
-                stopAlarmSound();
-            }
+        setAlarm.addActionListener(_ -> askForAlarm());
+        toggle.addActionListener(_ -> {
+            Alarm a = list.getSelectedValue();
+            if (a != null) scheduler.setEnabled(a.id, !a.enabled);
+        });
+        remove.addActionListener(_ -> {
+            Alarm a = list.getSelectedValue();
+            if (a != null) scheduler.remove(a.id);
         });
-        t.start();
     }
 
-    private void playAlarmSound() {
-        try {
-            File soundFile = new File("alarm.wav");
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
-            clip = AudioSystem.getClip();
-            clip.open(audioIn);
-            clip.loop(Clip.LOOP_CONTINUOUSLY); // Loop the sound
-            clip.start();
-            alarmPlaying = true;
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            JOptionPane.showMessageDialog(this, "❌ Could not play alarm sound!");
-            e.printStackTrace();
+    private void showAlarms(List<Alarm> alarms) {
+        int selected = list.getSelectedValue() != null ? list.getSelectedValue().id : -1;
+        model.clear();
+        for (Alarm a : alarms) {
+            model.addElement(a);
+            if (a.id == selected) list.setSelectedIndex(model.size() - 1);
         }
     }
 
-    private void stopAlarmSound() {
-        if (clip != null && clip.isRunning()) {
-            clip.stop();
-            clip.close();
+    private void askForAlarm() {
+        JTextField time = new JTextField(8);
+        JTextField label = new JTextField(12);
+        JList<String> sounds = new JList<>(AlarmAudio.available().toArray(new String[0]));
+        sounds.setVisibleRowCount(3);
+        sounds.setSelectedIndex(0);
+        JCheckBox[] days = new JCheckBox[7];
+        JPanel dayBoxes = new JPanel(new GridLayout(1, 7));
+        for (DayOfWeek d : DayOfWeek.values()) {
+            days[d.ordinal()] = new JCheckBox(d.getDisplayName(TextStyle.SHORT, Locale.US));
+            dayBoxes.add(days[d.ordinal()]);
+        }
+        JPanel form = new JPanel(new GridLayout(0, 1));
+        form.add(new JLabel("Time (hh:mm AM/PM or 24-hour hh:mm):"));
+        form.add(time);
+        form.add(new JLabel("Repeat on (none = once):"));
+        form.add(dayBoxes);
+        form.add(new JLabel("Label:"));
+        form.add(label);
+        form.add(new JLabel("Sounds, played in turn (Ctrl-click for several):"));
+        form.add(new JScrollPane(sounds));
+
+        if (JOptionPane.showConfirmDialog(this, form, "Set Alarm", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+        LocalTime at = parseTime(time.getText().trim());
+        if (at == null) {
+            JOptionPane.showMessageDialog(this, "Could not read the time \"" + time.getText() + "\"");
+            return;
+        }
+        EnumSet<DayOfWeek> repeat = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek d : DayOfWeek.values()) if (days[d.ordinal()].isSelected()) repeat.add(d);
+        List<String> files = sounds.getSelectedValuesList();
+        if (repeat.isEmpty()) {
+            scheduler.addNext(at, label.getText().trim(), files);
+        } else {
+            scheduler.addWeekly(at, repeat, label.getText().trim(), files);
         }
-        alarmPlaying = false;
-        alarmTime = ""; // Reset alarm
-        JOptionPane.showMessageDialog(this, "🔕 Alarm stopped!");
+    }
+
+    static LocalTime parseTime(String text) {
+        for (DateTimeFormatter f : TIME_FORMATS) {
+            try {
+                return LocalTime.parse(text, f);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    // The sound is already playing by the time this runs on the EDT
+    private void ring(Alarm alarm) {
+        ringTimeout.restart();
+        String[] options = {"Stop", "Snooze " + SNOOZE.toMinutes() + " min"};
+        String title = alarm.label.isEmpty() ? "Alarm" : alarm.label;
+        int choice = JOptionPane.showOptionDialog(this, "⏰ " + alarm, title, JOptionPane.DEFAULT_OPTION,
+            JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+        stopAlarmSound();
+        if (choice == 1) scheduler.snooze(alarm.id, SNOOZE);
+    }
+
+    private void stopAlarmSound() {
+        ringTimeout.stop();
+        audio.stop();
+        audioStatus.setText("<html>" + audio.report().trim().replace("\n", "<br>") + "</html>");
     }
 }
@@ -0,0 +1,320 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps any number of {@link Alarm}s and rings each at its time. The next
+ * fire time of every alarm sits in a priority queue, and one scheduler thread
+ * sleeps until the earliest of them, so nothing runs between alarms. All
+ * state belongs to that thread; the public methods just hand it work.
+ *
+ * Fire times are absolute instants, but the thread sleeps on the monotonic
+ * clock, which does not follow wall-clock steps (NTP, manual changes,
+ * suspend). So it never sleeps longer than {@link #MAX_SLEEP}, and each wake
+ * compares the queue with the current wall clock again; a change of the
+ * default zone recomputes every alarm. An alarm whose time was stepped over
+ * rings late rather than not at all.
+ *
+ * Alarms are saved to a tab-separated text file after every change, written
+ * to a temporary file and renamed over the old one.
+ */
+public final class AlarmScheduler {
+    static final Duration MAX_SLEEP = Duration.ofMinutes(1);
+    // Waking this early counts as on time, rather than sleeping again for a few hundred microseconds
+    private static final long EARLY_NANOS = 500_000;
+
+    /** Called on the scheduler thread. */
+    interface Listener {
+        void alarmFired(Alarm alarm, Instant scheduled, long lateNanos);
+
+        void alarmsChanged(List<Alarm> alarms);
+    }
+
+    private static final class Entry {
+        final Instant when;
+        final Alarm alarm;
+
+        Entry(Instant when, Alarm alarm) {
+            this.when = when;
+            this.alarm = alarm;
+        }
+    }
+
+    private final Path file;
+    private final Listener listener;
+    private final ScheduledThreadPoolExecutor executor;
+
+    // Owned by the scheduler thread
+    private final Map<Integer, Alarm> alarms = new LinkedHashMap<>();
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing((Entry e) -> e.when));
+    private ZoneId zone = ZoneId.systemDefault();
+    // Every fire up to here has been handled
+    private Instant checkedUpTo = Instant.now();
+    private ScheduledFuture<?> wake;
+    private int nextId = 1;
+
+    private volatile List<Alarm> snapshot = List.of();
+
+    public AlarmScheduler(Path file, Listener listener) {
+        this.file = file;
+        this.listener = listener;
+        executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "alarm-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        // Rescheduling cancels the old wake; do not let those pile up in the queue
+        executor.setRemoveOnCancelPolicy(true);
+        executor.execute(() -> {
+            for (Alarm a : load(file)) {
+                alarms.put(a.id, a);
+                nextId = Math.max(nextId, a.id + 1);
+            }
+            rebuild();
+            changed(false);
+            check();
+        });
+    }
+
+    /** Alarms as of the last change, in the order they were added. */
+    public List<Alarm> alarms() {
+        return snapshot;
+    }
+
+    public void addOnce(LocalDateTime at, String label, List<String> sounds) {
+        executor.execute(() -> put(Alarm.once(nextId++, at, label).withSounds(sounds)));
+    }
+
+    /** One-off alarm for the next time the clock shows {@code time}. */
+    public void addNext(LocalTime time, String label, List<String> sounds) {
+        executor.execute(() -> put(Alarm.next(nextId++, time, label, zone).withSounds(sounds)));
+    }
+
+    public void addWeekly(LocalTime time, EnumSet<DayOfWeek> days, String label, List<String> sounds) {
+        executor.execute(() -> put(Alarm.weekly(nextId++, time, days, label).withSounds(sounds)));
+    }
+
+    public void remove(int id) {
+        executor.execute(() -> {
+            if (alarms.remove(id) == null) return;
+            queue.removeIf(e -> e.alarm.id == id);
+            changed(true);
+            check();
+        });
+    }
+
+    public void setEnabled(int id, boolean on) {
+        executor.execute(() -> {
+            Alarm a = alarms.get(id);
+            if (a != null) put(a.withEnabled(on));
+        });
+    }
+
+    public void snooze(int id, Duration delay) {
+        executor.execute(() -> {
+            Alarm a = alarms.get(id);
+            if (a != null) put(a.withSnooze(Instant.now().plus(delay)));
+        });
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void put(Alarm a) {
+        alarms.put(a.id, a);
+        queue.removeIf(e -> e.alarm.id == a.id);
+        enqueue(a, Instant.now());
+        changed(true);
+        check();
+    }
+
+    private void enqueue(Alarm a, Instant after) {
+        Instant when = a.nextFire(after, zone);
+        if (when != null) queue.add(new Entry(when, a));
+    }
+
+    private void rebuild() {
+        queue.clear();
+        for (Alarm a : alarms.values()) enqueue(a, checkedUpTo);
+    }
+
+    /** Rings everything that is due, then sleeps until the next deadline. */
+    private void check() {
+        ZoneId current = ZoneId.systemDefault();
+        if (!current.equals(zone)) {
+            zone = current;
+            rebuild();
+        }
+
+        boolean dirty = false;
+        Instant now = Instant.now();
+        Instant due = now.plusNanos(EARLY_NANOS);
+        for (Entry e; (e = queue.peek()) != null && !e.when.isAfter(due); ) {
+            queue.poll();
+            Alarm a = alarms.get(e.alarm.id);
+            if (a != e.alarm) continue; // replaced since it was queued
+
+            listener.alarmFired(a, e.when, Math.max(0, Duration.between(e.when, now).toNanos()));
+            if (e.when.equals(a.snoozedUntil)) {
+                a = a.withSnooze(null);
+            } else if (!a.isRepeating()) {
+                a = a.withEnabled(false);
+            }
+            if (a != e.alarm) {
+                alarms.put(a.id, a);
+                dirty = true;
+            }
+            enqueue(a, e.when);
+        }
+        if (now.isAfter(checkedUpTo)) checkedUpTo = now;
+        if (dirty) changed(true);
+
+        if (wake != null) wake.cancel(false);
+        wake = null;
+        Entry next = queue.peek();
+        if (next == null) return; // nothing to wait for; adding an alarm wakes us
+        long delay = Math.min(Duration.between(Instant.now(), next.when).toNanos(), MAX_SLEEP.toNanos());
+        wake = executor.schedule(this::check, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    private void changed(boolean save) {
+        List<Alarm> list = List.copyOf(alarms.values());
+        snapshot = list;
+        if (save) {
+            try {
+                save(file, list);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        listener.alarmsChanged(list);
+    }
+
+    // id, time, MON,TUE,... or a date for one-off alarms, on/off, snooze instant or -, label, sounds joined by |
+    static List<Alarm> load(Path file) {
+        List<Alarm> out = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                try {
+                    String[] f = line.split("\t", 7);
+                    int id = Integer.parseInt(f[0]);
+                    LocalTime time = LocalTime.parse(f[1]);
+                    String label = f.length > 5 ? f[5] : "";
+                    Alarm a;
+                    if (Character.isDigit(f[2].charAt(0))) {
+                        a = Alarm.once(id, LocalDate.parse(f[2]).atTime(time), label);
+                    } else {
+                        EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+                        for (String d : f[2].split(",")) days.add(DayOfWeek.valueOf(d));
+                        a = Alarm.weekly(id, time, days, label);
+                    }
+                    a = a.withEnabled(f[3].equals("on"));
+                    if (!f[4].equals("-")) a = a.withSnooze(Instant.parse(f[4]));
+                    if (f.length > 6 && !f[6].isEmpty()) a = a.withSounds(List.of(f[6].split("\\|")));
+                    out.add(a);
+                } catch (RuntimeException e) {
+                    // skip the damaged line, keep the rest
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // no alarms yet
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return out;
+    }
+
+    static void save(Path file, List<Alarm> alarms) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+            out.write("# id\ttime\tdays or date\ton/off\tsnoozed until\tlabel\tsounds\n");
+            for (Alarm a : alarms) {
+                StringBuilder days = new StringBuilder();
+                for (DayOfWeek d : a.days) days.append(days.length() == 0 ? "" : ",").append(d);
+                out.write(a.id + "\t" + a.time + "\t" + (a.date != null ? a.date.toString() : days) + "\t"
+                    + (a.enabled ? "on" : "off") + "\t" + (a.snoozedUntil != null ? a.snoozedUntil : "-") + "\t"
+                    + a.label.replace('\t', ' ').replace('\n', ' ') + "\t" + String.join("|", a.sounds) + "\n");
+            }
+            out.flush();
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Firing accuracy check: sets one-off alarms a fraction of a second apart
+     * in a temporary file and reports how late each one rang.
+     *
+     * <pre>
+     * java AlarmScheduler [alarms] [spacingMillis]
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long spacing = args.length > 1 ? Long.parseLong(args[1]) : 137;
+        Path file = Files.createTempFile("alarms", ".txt");
+        CountDownLatch done = new CountDownLatch(count);
+        long[] late = new long[count];
+        int[] fired = new int[1];
+        AlarmScheduler s = new AlarmScheduler(file, new Listener() {
+            @Override
+            public void alarmFired(Alarm alarm, Instant scheduled, long lateNanos) {
+                late[fired[0]++] = lateNanos;
+                done.countDown();
+            }
+
+            @Override
+            public void alarmsChanged(List<Alarm> alarms) {
+            }
+        });
+        LocalDateTime start = LocalDateTime.now().plusSeconds(1);
+        for (int i = 0; i < count; i++) s.addOnce(start.plusNanos(i * spacing * 1_000_000), "test " + i, List.of(AlarmAudio.DEFAULT_SOUND));
+        if (!done.await(count * spacing + 10_000, TimeUnit.MILLISECONDS)) System.out.println("Not every alarm fired");
+
+        long sum = 0, max = 0;
+        for (int i = 0; i < fired[0]; i++) {
+            sum += late[i];
+            max = Math.max(max, late[i]);
+        }
+        System.out.printf("%d alarms fired, late by mean %.3f ms, max %.3f ms%n",
+            fired[0], sum / 1e6 / Math.max(1, fired[0]), max / 1e6);
+        System.out.printf("saved %d alarms to %s%n", load(file).size(), file);
+        s.shutdown();
+        Files.deleteIfExists(file);
+    }
+}
@@ -1,19 +1,130 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.Path2D;
 import java.io.*;
 
+/**
+ * Battery level, with a chart of recent charge and an estimate of the time
+ * left. On Linux it polls sysfs through a {@link PowerSupplyReader}; elsewhere
+ * it falls back to a one-off probe of an external command. Either way the
+ * work runs off the EDT and the labels fill in when it finishes; the panel
+ * itself is ready at once.
+ */
 public class BatteryStatus extends JPanel {
     private final JLabel batteryLabel = new JLabel("Battery: checking...");
+    private final JLabel detailLabel = new JLabel(" ");
+    private final PowerSupplyReader reader;
+    private final HistoryChart chart = new HistoryChart();
+
+    /** Charge over time, drawn from the reader's history into reused arrays. */
+    private final class HistoryChart extends JComponent {
+        private final long[] times = new long[PowerSupplyReader.HISTORY];
+        private final float[] percents = new float[PowerSupplyReader.HISTORY];
+        private final Path2D.Float line = new Path2D.Float();
+
+        HistoryChart() {
+            setPreferredSize(new Dimension(360, 140));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int w = getWidth() - 1, h = getHeight() - 1;
+            g2.setColor(Color.LIGHT_GRAY);
+            for (int pct = 0; pct <= 100; pct += 25) {
+                int y = h - pct * h / 100;
+                g2.drawLine(0, y, w, y);
+            }
+
+            int n = reader.history(times, percents);
+            if (n < 2) return;
+            // At least ten minutes across, so the first few samples do not fill the width
+            long end = times[n - 1];
+            double span = Math.max(end - times[0], 10 * 60_000);
+            line.reset();
+            boolean drawing = false;
+            for (int i = 0; i < n; i++) {
+                if (Float.isNaN(percents[i])) {
+                    drawing = false;
+                    continue;
+                }
+                float x = (float) (w - (end - times[i]) / span * w);
+                float y = h - percents[i] * h / 100;
+                if (drawing) {
+                    line.lineTo(x, y);
+                } else {
+                    line.moveTo(x, y);
+                    drawing = true;
+                }
+            }
+            g2.setColor(Color.BLUE);
+            g2.setStroke(new BasicStroke(2f));
+            g2.draw(line);
+        }
+    }
 
     public BatteryStatus() {
-        setLayout(new FlowLayout());
+        this(new PowerSupplyReader());
+    }
+
+    BatteryStatus(PowerSupplyReader reader) {
+        this.reader = reader;
+        setLayout(new BorderLayout());
         batteryLabel.setFont(new Font("Arial", Font.BOLD, 16));
         batteryLabel.setForeground(Color.BLUE);
-        add(batteryLabel);
+        JPanel labels = new JPanel(new GridLayout(0, 1));
+        batteryLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        detailLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        labels.add(batteryLabel);
+        labels.add(detailLabel);
+        add(labels, BorderLayout.NORTH);
+        add(chart, BorderLayout.CENTER);
         checkBattery();  // Call once on load
     }
 
+    /**
+     * Finds the battery in the background. With sysfs this starts polling,
+     * and each reading updates the labels and chart on the EDT; otherwise one
+     * probe fills in the level.
+     */
     public void checkBattery() {
+        new SwingWorker<String, Void>() {
+            private boolean sysfs;
+
+            @Override
+            protected String doInBackground() {
+                sysfs = reader.hasBattery();
+                return sysfs ? null : readCharge();
+            }
+
+            @Override
+            protected void done() {
+                if (sysfs) {
+                    reader.start(SwingUtilities::invokeLater, BatteryStatus.this::show);
+                    return;
+                }
+                try {
+                    String charge = get();
+                    batteryLabel.setText(charge != null && !charge.isEmpty()
+                        ? "🔋 Battery Level: " + charge + " %"
+                        : "Battery info unavailable ❌");
+                } catch (Exception e) {
+                    batteryLabel.setText("Battery info unavailable ❌");
+                }
+            }
+        }.execute();
+    }
+
+    private void show(PowerSupplyReader.Reading r) {
+        batteryLabel.setText(Double.isNaN(r.percent)
+            ? "Battery info unavailable ❌"
+            : "🔋 Battery Level: " + Math.round(r.percent) + " %");
+        detailLabel.setText(PowerSupplyReader.describe(r));
+        chart.repaint();
+    }
+
+    private static String readCharge() {
         try {
             ProcessBuilder builder = new ProcessBuilder(
                 "cmd.exe", "/c", "wmic path Win32_Battery get EstimatedChargeRemaining /value"
@@ -39,24 +150,21 @@ public class BatteryStatus extends JPanel {
                 }
             }
 
-            if (charge != null && !charge.isEmpty()) {
-                batteryLabel.setText("🔋 Battery Level: " + charge + " %");
-            } else {
-                batteryLabel.setText("Battery info unavailable ❌");
-            }
+            return charge;
 
         } catch (Exception e) {
-            batteryLabel.setText("Battery info unavailable ❌");
+            return null;
         }
     }
 
     public static void main(String[] args) {
-        JFrame frame = new JFrame("Battery Checker");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(350, 120);
-        frame.setResizable(false);
-        frame.add(new BatteryStatus());
-        frame.setLocationRelativeTo(null);
-        frame.setVisible(true);
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Battery Checker");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setSize(420, 260);
+            frame.add(args.length > 0 ? new BatteryStatus(new PowerSupplyReader(java.nio.file.Paths.get(args[0]))) : new BatteryStatus());
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+        });
     }
 }
@@ -1,72 +1,207 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.Calendar;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.TimeZone;
 
+/**
+ * Analog clock. The dial (border, tick marks, numerals) only changes with the
+ * panel size, so it is rendered once into an image and each repaint just
+ * blits it and draws the three hands.
+ *
+ * Click the clock to switch between a ticking second hand and a smooth sweep
+ * at display rate. While sweeping, frames inside a second repaint only the
+ * strip the second hand passes over; the whole face is repainted once a
+ * second, when the minute and hour hands move. Ticks come from
+ * {@link ClockTicker}, on the second boundary, and stop while the clock is hidden.
+ */
 public class ClockPanel extends JPanel {
-    private final Timer timer;
+    private static final Color DIAL = Color.white;
+    private static final Font NUMERAL_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(4);
+    private static final BasicStroke MINOR_TICK = new BasicStroke(1);
+    private static final BasicStroke MAJOR_TICK = new BasicStroke(3);
+    private static final BasicStroke SECOND_STROKE = new BasicStroke(1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke MINUTE_STROKE = new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke HOUR_STROKE = new BasicStroke(5, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    private final ClockTicker.Subscription ticks;
+    private boolean smoothSweep;
+    // Wall time of the last tick; what the hands show
+    private long shownMillis;
+
+    // Dial image and the size and scale it was rendered for
+    private BufferedImage dial;
+    private int dialWidth, dialHeight;
+    private double dialScale;
+
+    // Second hand as last painted, for the sweep's dirty rectangle
+    private long lastSecond = -1;
+    private final Rectangle lastSecondHand = new Rectangle();
+    private final Rectangle dirty = new Rectangle();
 
     public ClockPanel() {
+        this(false);
+    }
+
+    public ClockPanel(boolean smoothSweep) {
         setBackground(Color.black);
-        timer = new Timer(1000, _ -> repaint());
-        timer.start();
+        setToolTipText("Click to switch between ticking and sweeping second hand");
+        ticks = ClockTicker.shared().subscribe(this, ClockTicker.Rate.SECOND, (wall, _) -> onTick(wall));
+        setSmoothSweep(smoothSweep);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                setSmoothSweep(!ClockPanel.this.smoothSweep);
+            }
+        });
+    }
+
+    public boolean isSmoothSweep() {
+        return smoothSweep;
+    }
+
+    public void setSmoothSweep(boolean on) {
+        smoothSweep = on;
+        ticks.setRate(on ? ClockTicker.Rate.FRAME : ClockTicker.Rate.SECOND);
+        repaint();
+    }
+
+    private void onTick(long now) {
+        shownMillis = now;
+        if (!smoothSweep || now / 1000 != lastSecond) {
+            repaint();
+            return;
+        }
+        // Only the second hand moved: repaint where it was and where it is going
+        int width = getWidth(), height = getHeight();
+        int radius = radius(width, height);
+        secondHandBounds(width / 2, height / 2, radius - 20, secondAngle(localMillis(now)), dirty);
+        dirty.add(lastSecondHand);
+        repaint(dirty);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
         Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setColor(Color.white);
-
         int width = getWidth();
         int height = getHeight();
-        int radius = Math.min(width, height) / 2 - 50;
+        int radius = radius(width, height);
         int centerX = width / 2;
         int centerY = height / 2;
 
-        // Draw clock border
-        g2.setStroke(new BasicStroke(4));
-        g2.drawOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
+        g2.drawImage(dial(g2, width, height), 0, 0, width, height, null);
 
-        // Draw numbers
-        g2.setFont(new Font("Arial", Font.BOLD, 20));
-        for (int i = 1; i <= 12; i++) {
-            double angle = Math.toRadians((i * 30) - 90);
-            int x = (int) (centerX + (radius - 30) * Math.cos(angle));
-            int y = (int) (centerY + (radius - 30) * Math.sin(angle));
-            String num = String.valueOf(i);
-            int strWidth = g2.getFontMetrics().stringWidth(num);
-            int strHeight = g2.getFontMetrics().getAscent();
-            g2.drawString(num, x - strWidth / 2, y + strHeight / 3);
-        }
+        // Before the first tick, e.g. painted while still hidden
+        long now = shownMillis != 0 ? shownMillis : System.currentTimeMillis();
+        long local = localMillis(now);
+        long daySeconds = local / 1000 % 86_400;
+        int sec = (int) (daySeconds % 60);
+        int min = (int) (daySeconds / 60 % 60);
+        int hour = (int) (daySeconds / 3600 % 12);
+        lastSecond = now / 1000;
 
-        // Get current time
-        Calendar cal = Calendar.getInstance();
-        int sec = cal.get(Calendar.SECOND);
-        int min = cal.get(Calendar.MINUTE);
-        int hour = cal.get(Calendar.HOUR);
-
-        // Calculate angles
-        double secAngle = Math.toRadians((sec * 6) - 90);
+        // Minute and hour hands step once a second, so partial repaints never tear them
         double minAngle = Math.toRadians((min * 6 + sec * 0.1) - 90);
         double hourAngle = Math.toRadians((hour * 30 + min * 0.5) - 90);
+        double secAngle = smoothSweep ? secondAngle(local) : Math.toRadians((sec * 6) - 90);
 
-        // Draw hands
-        drawHand(g2, centerX, centerY, secAngle, radius - 20, Color.red, 1);
-        drawHand(g2, centerX, centerY, minAngle, radius - 40, Color.green, 3);
-        drawHand(g2, centerX, centerY, hourAngle, radius - 70, Color.cyan, 5);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        drawHand(g2, centerX, centerY, hourAngle, radius - 70, Color.cyan, HOUR_STROKE);
+        drawHand(g2, centerX, centerY, minAngle, radius - 40, Color.green, MINUTE_STROKE);
+        drawHand(g2, centerX, centerY, secAngle, radius - 20, Color.red, SECOND_STROKE);
+        secondHandBounds(centerX, centerY, radius - 20, secAngle, lastSecondHand);
 
         // Center dot
-        g2.setColor(Color.white);
+        g2.setColor(DIAL);
         g2.fillOval(centerX - 5, centerY - 5, 10, 10);
     }
 
-    private void drawHand(Graphics2D g2, int x, int y, double angle, int length, Color color, int strokeWidth) {
+    private static int radius(int width, int height) {
+        return Math.min(width, height) / 2 - 50;
+    }
+
+    private static long localMillis(long utcMillis) {
+        return utcMillis + TimeZone.getDefault().getOffset(utcMillis);
+    }
+
+    private static double secondAngle(long localMillis) {
+        return Math.toRadians((localMillis % 60_000) * 0.006 - 90);
+    }
+
+    /** The dial for this size, rendered again only when the size or screen scale changes. */
+    private BufferedImage dial(Graphics2D g2, int width, int height) {
+        double scale = g2.getTransform().getScaleX();
+        if (dial != null && dialWidth == width && dialHeight == height && dialScale == scale) return dial;
+
+        // Rendered at device resolution so it stays sharp on scaled displays
+        int w = Math.max(1, (int) Math.ceil(width * scale));
+        int h = Math.max(1, (int) Math.ceil(height * scale));
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        BufferedImage image = gc != null ? gc.createCompatibleImage(w, h) : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D d = image.createGraphics();
+        try {
+            d.scale(scale, scale);
+            d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            d.setColor(getBackground());
+            d.fillRect(0, 0, width, height);
+            paintDial(d, width / 2, height / 2, radius(width, height));
+        } finally {
+            d.dispose();
+        }
+        dial = image;
+        dialWidth = width;
+        dialHeight = height;
+        dialScale = scale;
+        return image;
+    }
+
+    private static void paintDial(Graphics2D g2, int centerX, int centerY, int radius) {
+        g2.setColor(DIAL);
+
+        // Border
+        g2.setStroke(BORDER_STROKE);
+        g2.drawOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
+
+        // Minute marks, heavier on the hours
+        for (int i = 0; i < 60; i++) {
+            double angle = Math.toRadians(i * 6 - 90);
+            boolean hour = i % 5 == 0;
+            int inner = radius - (hour ? 12 : 6);
+            double cos = Math.cos(angle), sin = Math.sin(angle);
+            g2.setStroke(hour ? MAJOR_TICK : MINOR_TICK);
+            g2.drawLine((int) (centerX + inner * cos), (int) (centerY + inner * sin),
+                (int) (centerX + (radius - 2) * cos), (int) (centerY + (radius - 2) * sin));
+        }
+
+        // Numbers
+        g2.setFont(NUMERAL_FONT);
+        FontMetrics fm = g2.getFontMetrics();
+        for (int i = 1; i <= 12; i++) {
+            double angle = Math.toRadians((i * 30) - 90);
+            int x = (int) (centerX + (radius - 30) * Math.cos(angle));
+            int y = (int) (centerY + (radius - 30) * Math.sin(angle));
+            String num = String.valueOf(i);
+            g2.drawString(num, x - fm.stringWidth(num) / 2, y + fm.getAscent() / 3);
+        }
+    }
+
+    private void drawHand(Graphics2D g2, int x, int y, double angle, int length, Color color, BasicStroke stroke) {
         int x2 = (int) (x + length * Math.cos(angle));
         int y2 = (int) (y + length * Math.sin(angle));
         g2.setColor(color);
-        g2.setStroke(new BasicStroke(strokeWidth));
+        g2.setStroke(stroke);
         g2.drawLine(x, y, x2, y2);
     }
+
+    // Box around the second hand, padded for its stroke, antialiasing and the center dot
+    private static void secondHandBounds(int x, int y, int length, double angle, Rectangle out) {
+        int x2 = (int) (x + length * Math.cos(angle));
+        int y2 = (int) (y + length * Math.sin(angle));
+        out.setBounds(Math.min(x, x2), Math.min(y, y2), Math.abs(x2 - x), Math.abs(y2 - y));
+        out.grow(6, 6);
+    }
 }
@@ -0,0 +1,172 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One timer for every display in the suite. Each wake reads the clocks once
+ * and hands the reading to the subscribers that are due, then sleeps until the
+ * next one is: the next wall-clock second for {@link Rate#SECOND}, the next
+ * frame for {@link Rate#FRAME}, or a time the subscriber asked for with
+ * {@link Subscription#wakeAt} for {@link Rate#REQUESTED}. Second displays
+ * therefore change on the boundary rather than up to a second late.
+ *
+ * A subscriber is skipped while its component is not showing, e.g. on a
+ * hidden tab, and gets a fresh tick as soon as it shows again. With nothing
+ * showing or due, the timer is stopped. Work that must happen whether or not
+ * anything is on screen (alarms, countdown completion) runs on
+ * {@link AlarmScheduler} and {@link TimingWheel}, not here.
+ *
+ * Everything runs on the EDT.
+ */
+public final class ClockTicker {
+    public enum Rate { SECOND, FRAME, REQUESTED }
+
+    public interface Listener {
+        void tick(long wallMillis, long nanoTime);
+    }
+
+    public final class Subscription {
+        private final JComponent owner;
+        private final Listener listener;
+        private Rate rate;
+        private boolean active = true;
+        private long lastSecond = Long.MIN_VALUE;
+        // For REQUESTED; Long.MAX_VALUE when nothing is asked for
+        private long due = Long.MAX_VALUE;
+
+        private Subscription(JComponent owner, Rate rate, Listener listener) {
+            this.owner = owner;
+            this.rate = rate;
+            this.listener = listener;
+        }
+
+        public void setRate(Rate rate) {
+            this.rate = rate;
+            lastSecond = Long.MIN_VALUE;
+            reschedule();
+        }
+
+        /** Inactive subscribers get no ticks even while showing, e.g. a stopped stopwatch. */
+        public void setActive(boolean on) {
+            if (on == active) return;
+            active = on;
+            if (on) {
+                lastSecond = Long.MIN_VALUE;
+                fire();
+            } else {
+                reschedule();
+            }
+        }
+
+        /** For {@link Rate#REQUESTED}: tick once {@code System.nanoTime()} reaches this. */
+        public void wakeAt(long nanoTime) {
+            due = nanoTime;
+            reschedule();
+        }
+
+        public void cancel() {
+            subscribers.remove(this);
+            reschedule();
+        }
+
+        private boolean live() {
+            return active && owner.isShowing();
+        }
+
+        private boolean isDue(long wallMillis, long nanoTime) {
+            return switch (rate) {
+                case SECOND -> Math.floorDiv(wallMillis, 1000) != lastSecond;
+                case FRAME -> true;
+                case REQUESTED -> due != Long.MAX_VALUE && due - nanoTime <= SLACK_NANOS;
+            };
+        }
+
+        /** Milliseconds until this subscriber is next due, or -1 for never. */
+        private long delay(long wallMillis, long nanoTime) {
+            return switch (rate) {
+                case SECOND -> 1000 - Math.floorMod(wallMillis, 1000);
+                case FRAME -> framePeriod;
+                case REQUESTED -> due == Long.MAX_VALUE ? -1 : Math.max(0, (due - nanoTime + 999_999) / 1_000_000);
+            };
+        }
+    }
+
+    // Swing timers have millisecond resolution
+    private static final long SLACK_NANOS = 500_000;
+    private static ClockTicker shared;
+
+    private final List<Subscription> subscribers = new ArrayList<>();
+    private final Timer timer = new Timer(0, _ -> fire());
+    private final int framePeriod = (int) Math.max(1, Math.round(1000 / displayRate()));
+    private long wakeups;
+
+    private ClockTicker() {
+        timer.setRepeats(false);
+    }
+
+    /** The one ticker the suite's panels share. */
+    public static ClockTicker shared() {
+        if (shared == null) shared = new ClockTicker();
+        return shared;
+    }
+
+    static double displayRate() {
+        try {
+            int hz = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            return hz > 0 ? hz : 60;
+        } catch (HeadlessException e) {
+            return 60;
+        }
+    }
+
+    /** Ticks {@code listener} at {@code rate} while {@code owner} is showing. */
+    public Subscription subscribe(JComponent owner, Rate rate, Listener listener) {
+        Subscription s = new Subscription(owner, rate, listener);
+        subscribers.add(s);
+        owner.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+            if (owner.isShowing()) s.lastSecond = Long.MIN_VALUE;
+            fire();
+        });
+        reschedule();
+        return s;
+    }
+
+    /** Timer wakes so far, for comparing setups. */
+    public long wakeups() {
+        return wakeups;
+    }
+
+    private void fire() {
+        wakeups++;
+        long wall = System.currentTimeMillis();
+        long nano = System.nanoTime();
+        for (Subscription s : subscribers.toArray(new Subscription[0])) {
+            if (!s.live() || !s.isDue(wall, nano)) continue;
+            s.lastSecond = Math.floorDiv(wall, 1000);
+            if (s.rate == Rate.REQUESTED) s.due = Long.MAX_VALUE;
+            s.listener.tick(wall, nano);
+        }
+        reschedule();
+    }
+
+    private void reschedule() {
+        long wall = System.currentTimeMillis();
+        long nano = System.nanoTime();
+        long delay = -1;
+        for (Subscription s : subscribers) {
+            if (!s.live()) continue;
+            long d = s.delay(wall, nano);
+            if (d >= 0 && (delay < 0 || d < delay)) delay = d;
+        }
+        if (delay < 0) {
+            timer.stop();
+            return;
+        }
+        timer.setInitialDelay((int) Math.min(delay, Integer.MAX_VALUE));
+        timer.restart();
+    }
+}
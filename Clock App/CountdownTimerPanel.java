@@ -1,43 +1,141 @@
 import javax.swing.*;
 import java.awt.*;
 
+/**
+ * Any number of named countdowns on one {@link TimingWheel}. The panel only
+ * draws: times are read from each timer's deadline when the display
+ * refreshes. It asks {@link ClockTicker} to wake it just as the next shown
+ * second rolls over, only while some timer is running and the tab is showing.
+ * The timers themselves finish on time whether or not the tab is showing.
+ */
 public class CountdownTimerPanel extends JPanel {
-    private Timer timer;
-    private int seconds;
+    private static final long SECOND = 1_000_000_000L;
+    private static final long MINUTE = 60 * SECOND;
+
+    private final Countdowns countdowns = new Countdowns(new TimingWheel("countdown-wheel"),
+        SwingUtilities::invokeLater, this::timeUp);
+    private final DefaultListModel<Countdowns.Countdown> model = new DefaultListModel<>();
+    private final JList<Countdowns.Countdown> list = new JList<>(model);
     private final JLabel display = new JLabel("00:00");
+    private final JButton start = new JButton("Start");
+    private final ClockTicker.Subscription ticks = ClockTicker.shared().subscribe(this, ClockTicker.Rate.REQUESTED,
+        (_, _) -> showTimes());
+    private int created;
 
     public CountdownTimerPanel() {
         setLayout(new BorderLayout());
         display.setFont(new Font("Consolas", Font.BOLD, 40));
         display.setHorizontalAlignment(SwingConstants.CENTER);
-        add(display, BorderLayout.CENTER);
+        add(display, BorderLayout.NORTH);
+
+        list.setFont(new Font("Consolas", Font.PLAIN, 16));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Fixed row height, so the list never formats every timer just to measure it
+        list.setFixedCellHeight(22);
+        list.addListSelectionListener(_ -> showTimes());
+        add(new JScrollPane(list), BorderLayout.CENTER);
 
-        JButton set = new JButton("Set Timer"), start = new JButton("Start");
+        JButton set = new JButton("Set Timer"), addMinute = new JButton("+1 min"), reset = new JButton("Reset"),
+            remove = new JButton("Remove");
         JPanel buttons = new JPanel();
         buttons.add(set);
         buttons.add(start);
+        buttons.add(addMinute);
+        buttons.add(reset);
+        buttons.add(remove);
         add(buttons, BorderLayout.SOUTH);
 
-        set.addActionListener(_ -> {
-            String input = JOptionPane.showInputDialog("Enter minutes:");
-            if (input != null && input.matches("\\d+")) {
-                seconds = Integer.parseInt(input) * 60;
-                display.setText(String.format("%02d:00", Integer.parseInt(input)));
+        set.addActionListener(_ -> askForTimer());
+
+        start.addActionListener(_ -> {
+            Countdowns.Countdown c = list.getSelectedValue();
+            if (c == null) return;
+            if (c.state() == Countdowns.State.RUNNING) {
+                c.pause();
+            } else {
+                c.start();
             }
+            showTimes();
         });
 
-        start.addActionListener(_ -> {
-            timer = new Timer(1000, _ -> {
-                if (seconds > 0) {
-                    seconds--;
-                    display.setText(String.format("%02d:%02d", seconds / 60, seconds % 60));
-                } else {
-                    Toolkit.getDefaultToolkit().beep();
-                    JOptionPane.showMessageDialog(this, "⏳ Time’s up!");
-                    timer.stop();
-                }
-            });
-            timer.start();
+        addMinute.addActionListener(_ -> {
+            Countdowns.Countdown c = list.getSelectedValue();
+            if (c != null) c.addTime(MINUTE);
+            showTimes();
         });
+
+        reset.addActionListener(_ -> {
+            Countdowns.Countdown c = list.getSelectedValue();
+            if (c != null) c.reset();
+            showTimes();
+        });
+
+        remove.addActionListener(_ -> {
+            Countdowns.Countdown c = list.getSelectedValue();
+            if (c == null) return;
+            countdowns.remove(c);
+            model.removeElement(c);
+            showTimes();
+        });
+    }
+
+    private void askForTimer() {
+        JTextField name = new JTextField("Timer " + (created + 1), 12);
+        JTextField time = new JTextField(6);
+        JPanel form = new JPanel(new GridLayout(0, 1));
+        form.add(new JLabel("Name:"));
+        form.add(name);
+        form.add(new JLabel("Enter minutes (or mm:ss):"));
+        form.add(time);
+        if (JOptionPane.showConfirmDialog(this, form, "Set Timer", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+
+        String input = time.getText().trim();
+        long nanos;
+        // Digit counts keep the arithmetic far from overflow; the real limit is checked below
+        if (input.matches("\\d{1,6}")) {
+            nanos = Long.parseLong(input) * MINUTE;
+        } else if (input.matches("\\d{1,6}:[0-5]\\d")) {
+            String[] parts = input.split(":");
+            nanos = Long.parseLong(parts[0]) * MINUTE + Long.parseLong(parts[1]) * SECOND;
+        } else {
+            JOptionPane.showMessageDialog(this, "Could not read the time \"" + input + "\"");
+            return;
+        }
+        if (nanos == 0 || nanos > Countdowns.MAX_NANOS) {
+            JOptionPane.showMessageDialog(this, "Timers run from 1 second to " + Countdowns.MAX_NANOS / MINUTE + " minutes");
+            return;
+        }
+        created++;
+        Countdowns.Countdown c = countdowns.create(name.getText().trim(), nanos);
+        model.addElement(c);
+        list.setSelectedValue(c, true);
+        showTimes();
+    }
+
+    private void timeUp(Countdowns.Countdown c) {
+        showTimes();
+        Toolkit.getDefaultToolkit().beep();
+        JOptionPane.showMessageDialog(this, "⏳ " + c.name + ": Time’s up!");
+    }
+
+    private void showTimes() {
+        Countdowns.Countdown selected = list.getSelectedValue();
+        display.setText(selected == null ? "00:00" : Countdowns.format(selected.remainingNanos()));
+        start.setText(selected != null && selected.state() == Countdowns.State.RUNNING ? "Pause" : "Start");
+        // Rows are formatted when painted, so this only costs the visible ones
+        list.repaint();
+
+        // Displays round up, so a shown second changes when the remaining time crosses a whole second.
+        // Only what is on screen counts, so thousands of timers do not mean thousands of wakeups.
+        long next = nextChange(selected, Long.MAX_VALUE);
+        int first = list.getFirstVisibleIndex(), last = list.getLastVisibleIndex();
+        for (int i = Math.max(0, first); i <= last && i < model.size(); i++) next = nextChange(model.get(i), next);
+        ticks.wakeAt(next == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + next);
+    }
+
+    private static long nextChange(Countdowns.Countdown c, long soonest) {
+        if (c == null || c.state() != Countdowns.State.RUNNING) return soonest;
+        long toChange = c.remainingNanos() % SECOND;
+        return Math.min(soonest, toChange == 0 ? SECOND : toChange);
     }
 }
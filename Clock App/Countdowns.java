@@ -0,0 +1,158 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Named countdown timers that all run off one {@link TimingWheel}. A running
+ * timer is just its absolute {@link System#nanoTime()} deadline plus one wheel
+ * entry, so thousands of them cost nothing between deadlines and the time
+ * shown is always worked out from the deadline, never counted down tick by
+ * tick. Pausing keeps the remaining time; adding time moves the deadline.
+ * Completion is reported through the given executor (the EDT for the panel).
+ */
+public final class Countdowns {
+    public enum State { READY, RUNNING, PAUSED, DONE }
+
+    /** Longest a timer can be set to, so deadlines stay far from nanoTime overflow. */
+    public static final long MAX_NANOS = 999 * 3600 * 1_000_000_000L;
+
+    public final class Countdown {
+        final String name;
+        private long duration;
+        // Left to run while not running; while running it follows from the deadline
+        private long remaining;
+        private long deadline;
+        private State state = State.READY;
+        private TimingWheel.Timeout timeout;
+        // Bumped on every arm, so a wheel entry that was replaced can tell
+        private int generation;
+
+        private Countdown(String name, long durationNanos) {
+            this.name = name;
+            this.duration = durationNanos;
+            this.remaining = durationNanos;
+        }
+
+        public State state() {
+            synchronized (Countdowns.this) {
+                return state;
+            }
+        }
+
+        public long remainingNanos() {
+            synchronized (Countdowns.this) {
+                return state == State.RUNNING ? Math.max(0, deadline - System.nanoTime()) : remaining;
+            }
+        }
+
+        /** Starts or resumes; a finished timer starts over from its full time. */
+        public void start() {
+            synchronized (Countdowns.this) {
+                if (state == State.RUNNING) return;
+                if (state == State.DONE) remaining = duration;
+                arm(System.nanoTime() + remaining);
+                state = State.RUNNING;
+            }
+        }
+
+        public void pause() {
+            synchronized (Countdowns.this) {
+                if (state != State.RUNNING) return;
+                timeout.cancel();
+                remaining = Math.max(0, deadline - System.nanoTime());
+                state = State.PAUSED;
+            }
+        }
+
+        /** Back to the full time, stopped. */
+        public void reset() {
+            synchronized (Countdowns.this) {
+                if (timeout != null) timeout.cancel();
+                remaining = duration;
+                state = State.READY;
+            }
+        }
+
+        /**
+         * Adds time whatever the state, up to {@link #MAX_NANOS} in all; a
+         * finished timer gets the extra time and stays stopped.
+         */
+        public void addTime(long nanos) {
+            synchronized (Countdowns.this) {
+                nanos = Math.min(nanos, MAX_NANOS - duration);
+                if (nanos <= 0) return;
+                duration += nanos;
+                if (state == State.RUNNING) {
+                    // The replaced entry is stale by generation even if cancelling it loses a race
+                    TimingWheel.Timeout old = timeout;
+                    arm(deadline + nanos);
+                    old.cancel();
+                } else {
+                    remaining = (state == State.DONE ? 0 : remaining) + nanos;
+                    if (state == State.DONE) state = State.PAUSED;
+                }
+            }
+        }
+
+        private void arm(long at) {
+            deadline = at;
+            int armed = ++generation;
+            timeout = wheel.schedule(at, () -> finish(this, armed));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-20s %s   %s", name, format(remainingNanos()), state().name().toLowerCase());
+        }
+    }
+
+    private final TimingWheel wheel;
+    private final Executor callbacks;
+    private final Consumer<Countdown> onDone;
+    private final List<Countdown> timers = new ArrayList<>();
+
+    public Countdowns(TimingWheel wheel, Executor callbacks, Consumer<Countdown> onDone) {
+        this.wheel = wheel;
+        this.callbacks = callbacks;
+        this.onDone = onDone;
+    }
+
+    /** @throws IllegalArgumentException unless {@code 0 < durationNanos <= MAX_NANOS} */
+    public synchronized Countdown create(String name, long durationNanos) {
+        if (durationNanos <= 0 || durationNanos > MAX_NANOS) {
+            throw new IllegalArgumentException("timer length out of range: " + durationNanos + " ns");
+        }
+        Countdown c = new Countdown(name, durationNanos);
+        timers.add(c);
+        return c;
+    }
+
+    public synchronized void remove(Countdown c) {
+        c.reset();
+        timers.remove(c);
+    }
+
+    public synchronized List<Countdown> timers() {
+        return List.copyOf(timers);
+    }
+
+    // On the wheel thread
+    private void finish(Countdown c, int armed) {
+        synchronized (this) {
+            // A pause or add-time since this was scheduled replaced it
+            if (c.state != State.RUNNING || c.generation != armed) return;
+            c.state = State.DONE;
+            c.remaining = 0;
+        }
+        callbacks.execute(() -> onDone.accept(c));
+    }
+
+    /** {@code MM:SS}, or {@code H:MM:SS} from an hour up, rounded up so 0 shows only when done. */
+    static String format(long nanos) {
+        long s = (nanos + 999_999_999) / 1_000_000_000;
+        return s >= 3600
+            ? String.format("%d:%02d:%02d", s / 3600, s / 60 % 60, s % 60)
+            : String.format("%02d:%02d", s / 60, s % 60);
+    }
+}
@@ -1,29 +1,108 @@
 import javax.swing.*;
 import java.awt.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
+/**
+ * The suite's window. Each tab starts as an empty placeholder and its panel
+ * is built the first time the tab is selected, so the window shows as soon as
+ * the first tab is ready. The alarm tab is the exception: it owns the alarm
+ * scheduler, so it is built right after the first frame even if never opened.
+ *
+ * Startup timings (time to first frame, and what each tab cost to build)
+ * are kept for {@link #startupTimings()}, and printed to standard output when
+ * run with {@code -Dclock.startupTimings=true}.
+ */
 public class DigitalClock extends JFrame {
+    private static final int ALARM_TAB = 1;
+    private static final boolean PRINT_TIMINGS = Boolean.getBoolean("clock.startupTimings");
+
+    private final long launched;
+    private final JTabbedPane tabs = new JTabbedPane() {
+        private boolean painted;
+
+        @Override
+        public void paint(Graphics g) {
+            super.paint(g);
+            if (!painted) {
+                painted = true;
+                firstFrame();
+            }
+        }
+    };
+    // Per tab; null once built
+    private final List<Supplier<? extends JComponent>> factories = new ArrayList<>();
+    private final List<String> timings = new CopyOnWriteArrayList<>();
 
     public DigitalClock() {
+        this(System.nanoTime());
+    }
+
+    DigitalClock(long launched) {
+        this.launched = launched;
         setTitle("🔥 Smart Clock Suite");
         setSize(800, 400); // half screen approx
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
         setLocationRelativeTo(null); // center on screen
 
-        JTabbedPane tabs = new JTabbedPane();
-
-        tabs.add("🕒 Clock", new ClockPanel());
-        tabs.add("🔔 Alarm", new AlarmManager());
-        tabs.add("⏱ Stopwatch", new StopwatchPanel());
-        tabs.add("⏳ Countdown", new CountdownTimerPanel());
-        tabs.add("⚡ Battery", new BatteryStatus());
+        addTab("🕒 Clock", ClockPanel::new);
+        addTab("🔔 Alarm", AlarmManager::new);
+        addTab("⏱ Stopwatch", StopwatchPanel::new);
+        addTab("⏳ Countdown", CountdownTimerPanel::new);
+        addTab("⚡ Battery", BatteryStatus::new);
+        tabs.addChangeListener(_ -> build(tabs.getSelectedIndex()));
+        build(tabs.getSelectedIndex());
 
         add(tabs);
 
         setVisible(true);
     }
 
+    private void addTab(String title, Supplier<? extends JComponent> factory) {
+        factories.add(factory);
+        tabs.add(title, new JPanel(new BorderLayout()));
+    }
+
+    /** Swaps the placeholder at {@code index} for the real panel, once. */
+    private void build(int index) {
+        if (index < 0 || factories.get(index) == null) return;
+        long start = System.nanoTime();
+        JComponent panel = factories.get(index).get();
+        factories.set(index, null);
+        JPanel placeholder = (JPanel) tabs.getComponentAt(index);
+        placeholder.add(panel);
+        placeholder.revalidate();
+        timing(String.format("%s tab built in %.1f ms", tabs.getTitleAt(index), (System.nanoTime() - start) / 1e6));
+    }
+
+    private void firstFrame() {
+        timing(String.format("first frame %.1f ms after main", (System.nanoTime() - launched) / 1e6));
+        // Alarms have to ring whether or not their tab was ever opened
+        SwingUtilities.invokeLater(() -> build(ALARM_TAB));
+        // The JVM's own start time needs a process query, so it is looked up off the EDT
+        Instant shown = Instant.now();
+        Thread.ofPlatform().daemon().name("startup-report").start(() ->
+            ProcessHandle.current().info().startInstant().ifPresent(jvm ->
+                timing("first frame " + Duration.between(jvm, shown).toMillis() + " ms after JVM launch")));
+    }
+
+    private void timing(String line) {
+        timings.add(line);
+        if (PRINT_TIMINGS) System.out.println("startup: " + line);
+    }
+
+    /** Startup timings recorded so far, oldest first. */
+    public List<String> startupTimings() {
+        return List.copyOf(timings);
+    }
+
     public static void main(String[] args) {
-        new DigitalClock();
+        long launched = System.nanoTime();
+        SwingUtilities.invokeLater(() -> new DigitalClock(launched));
     }
 }
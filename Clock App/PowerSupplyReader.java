@@ -0,0 +1,387 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Battery state straight from the Linux power supply class in sysfs
+ * ({@code /sys/class/power_supply/<name>/capacity}, {@code status},
+ * {@code energy_now}, {@code power_now} and friends), with no process spawned
+ * per reading. Each attribute file is opened once and re-read from offset 0
+ * into one reused buffer, which makes sysfs produce a fresh value.
+ *
+ * Polling runs on its own scheduler thread and adapts: quicker while the
+ * readings are changing or the battery is discharging, backing off to
+ * {@link #MAX_INTERVAL_MILLIS} while nothing moves. The last {@link #HISTORY}
+ * samples of charge and power are kept in a ring of primitive arrays for the
+ * chart and the time-to-empty estimate.
+ *
+ * The root directory can be anything laid out like sysfs, so a fake tree can
+ * stand in for it.
+ */
+public final class PowerSupplyReader {
+    public static final Path DEFAULT_ROOT = Paths.get("/sys/class/power_supply");
+    static final int HISTORY = 720;
+    static final long MIN_INTERVAL_MILLIS = 2_000;
+    static final long DISCHARGING_MAX_MILLIS = 15_000;
+    static final long MAX_INTERVAL_MILLIS = 60_000;
+    // Power readings averaged for time-to-empty, and the percent window used when there is no power reading
+    private static final int POWER_SAMPLES = 6;
+    private static final long TREND_WINDOW_MILLIS = 30 * 60_000;
+
+    public static final int UNKNOWN = 0, CHARGING = 1, DISCHARGING = 2, FULL = 3, NOT_CHARGING = 4;
+    private static final String[] STATUS_NAMES = {"Unknown", "Charging", "Discharging", "Full", "Not charging"};
+
+    /** One poll. Values the battery does not report are NaN. */
+    public static final class Reading {
+        final long timeMillis;
+        final String battery;
+        final double percent;
+        final int status;
+        final double watts;
+        final double energyWh;
+        final boolean onMains;
+        final double hoursLeft;
+
+        Reading(long timeMillis, String battery, double percent, int status, double watts, double energyWh,
+                boolean onMains, double hoursLeft) {
+            this.timeMillis = timeMillis;
+            this.battery = battery;
+            this.percent = percent;
+            this.status = status;
+            this.watts = watts;
+            this.energyWh = energyWh;
+            this.onMains = onMains;
+            this.hoursLeft = hoursLeft;
+        }
+
+        public String statusName() {
+            return STATUS_NAMES[status];
+        }
+    }
+
+    private final Path root;
+    private final ByteBuffer buffer = ByteBuffer.allocate(128);
+    // Open attribute files of the current battery; a null value marks one it does not have
+    private final Map<String, FileChannel> files = new HashMap<>();
+    private Path battery, mains;
+
+    // History ring, guarded by this
+    private final long[] times = new long[HISTORY];
+    private final float[] percents = new float[HISTORY];
+    private final float[] watts = new float[HISTORY];
+    private int head, size;
+
+    private ScheduledExecutorService poller;
+    private long interval = MIN_INTERVAL_MILLIS;
+    private Reading last;
+
+    public PowerSupplyReader() {
+        this(DEFAULT_ROOT);
+    }
+
+    public PowerSupplyReader(Path root) {
+        this.root = root;
+    }
+
+    /** True if the root has a battery; also picks it (the first one, by name). */
+    public synchronized boolean hasBattery() {
+        if (battery == null) discover();
+        return battery != null;
+    }
+
+    /**
+     * Polls in the background until {@link #stop}, handing each reading to
+     * {@code listener} through {@code callbacks}.
+     */
+    public synchronized void start(Executor callbacks, Consumer<Reading> listener) {
+        if (poller != null) return;
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "power-supply-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.execute(() -> poll(callbacks, listener));
+    }
+
+    public synchronized void stop() {
+        if (poller != null) poller.shutdownNow();
+        poller = null;
+        closeFiles();
+    }
+
+    private void poll(Executor callbacks, Consumer<Reading> listener) {
+        Reading r;
+        synchronized (this) {
+            if (poller == null) return;
+            r = read();
+            interval = nextInterval(last, r, interval);
+            last = r;
+            poller.schedule(() -> poll(callbacks, listener), interval, TimeUnit.MILLISECONDS);
+        }
+        if (r != null) callbacks.execute(() -> listener.accept(r));
+    }
+
+    static long nextInterval(Reading before, Reading now, long interval) {
+        if (now == null) return MAX_INTERVAL_MILLIS;
+        boolean changed = before == null || before.status != now.status
+            || Math.abs(before.percent - now.percent) >= 0.5 || Math.abs(nanToZero(before.watts) - nanToZero(now.watts)) >= 0.5;
+        long next = changed ? Math.max(MIN_INTERVAL_MILLIS, interval / 2) : interval * 2;
+        return Math.min(next, now.status == DISCHARGING ? DISCHARGING_MAX_MILLIS : MAX_INTERVAL_MILLIS);
+    }
+
+    /** Reads the battery now and adds it to the history; null if there is none. */
+    public synchronized Reading read() {
+        if (battery == null && !hasBattery()) return null;
+        try {
+            // Open files can outlive an unplugged battery
+            if (!Files.isDirectory(battery)) throw new IOException(battery + " is gone");
+            long now = System.currentTimeMillis();
+            int status = readStatus();
+            // energy_* in µWh and power_now in µW; some batteries report charge_* in µAh and current_now in µA instead
+            double volts = readLong("voltage_now") / 1e6;
+            double energy = readLong("energy_now") / 1e6;
+            double energyFull = readLong("energy_full") / 1e6;
+            if (Double.isNaN(energy)) {
+                energy = readLong("charge_now") / 1e6 * volts;
+                energyFull = readLong("charge_full") / 1e6 * volts;
+            }
+            double power = Math.abs(readLong("power_now") / 1e6);
+            if (Double.isNaN(power)) power = Math.abs(readLong("current_now") / 1e6 * volts);
+            double percent = readLong("capacity");
+            if (Double.isNaN(percent) && energyFull > 0) percent = 100 * energy / energyFull;
+            boolean onMains = mains != null && readLong(mains.resolve("online")) == 1;
+
+            record(now, percent, power);
+            return new Reading(now, battery.getFileName().toString(), percent, status, power, energy, onMains,
+                hoursLeft(status, energy));
+        } catch (IOException e) {
+            // Battery went away or changed; look again next time
+            closeFiles();
+            battery = null;
+            return null;
+        }
+    }
+
+    private void record(long time, double percent, double power) {
+        int slot = (head + size) % HISTORY;
+        if (size == HISTORY) {
+            slot = head;
+            head = (head + 1) % HISTORY;
+        } else {
+            size++;
+        }
+        times[slot] = time;
+        percents[slot] = (float) percent;
+        watts[slot] = (float) power;
+    }
+
+    /**
+     * Copies the history, oldest first, into arrays of at least
+     * {@link #HISTORY} entries and returns how many samples there are. For
+     * drawing without holding the reader's lock.
+     */
+    public synchronized int history(long[] timesOut, float[] percentOut) {
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % HISTORY;
+            timesOut[i] = times[slot];
+            percentOut[i] = percents[slot];
+        }
+        return size;
+    }
+
+    /**
+     * Hours until empty while discharging, else NaN. Uses the remaining energy
+     * over recent average power when the battery reports both, otherwise the
+     * trend of the charge percentage over the last half hour.
+     */
+    private double hoursLeft(int status, double energyWh) {
+        if (status != DISCHARGING || size == 0) return Double.NaN;
+        double sum = 0;
+        int n = 0;
+        for (int i = 0; i < Math.min(size, POWER_SAMPLES); i++) {
+            float w = watts[(head + size - 1 - i) % HISTORY];
+            if (w > 0) {
+                sum += w;
+                n++;
+            }
+        }
+        if (energyWh > 0 && n > 0) return energyWh / (sum / n);
+
+        // Least-squares slope of percent against time
+        long newest = times[(head + size - 1) % HISTORY];
+        double st = 0, sp = 0, stt = 0, stp = 0;
+        int count = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int slot = (head + i) % HISTORY;
+            if (newest - times[slot] > TREND_WINDOW_MILLIS || Float.isNaN(percents[slot])) break;
+            double t = (times[slot] - newest) / 3_600_000.0;
+            st += t;
+            sp += percents[slot];
+            stt += t * t;
+            stp += t * percents[slot];
+            count++;
+        }
+        double denominator = count * stt - st * st;
+        if (count < 3 || denominator == 0) return Double.NaN;
+        double slope = (count * stp - st * sp) / denominator; // percent per hour
+        return slope < 0 ? percents[(head + size - 1) % HISTORY] / -slope : Double.NaN;
+    }
+
+    private void discover() {
+        closeFiles();
+        battery = null;
+        mains = null;
+        if (!Files.isDirectory(root)) return;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root)) {
+            for (Path dir : dirs) {
+                String type = readText(dir.resolve("type"));
+                if (type.equals("Battery") && (battery == null || dir.getFileName().toString().compareTo(battery.getFileName().toString()) < 0)) {
+                    battery = dir;
+                } else if (type.equals("Mains") && mains == null) {
+                    mains = dir;
+                }
+            }
+        } catch (IOException e) {
+            // nothing readable there
+        }
+    }
+
+    private static String readText(Path file) {
+        try {
+            return Files.readString(file).trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /** A battery attribute as a number, NaN if the battery does not have it. */
+    private double readLong(String name) throws IOException {
+        FileChannel ch = channel(battery.resolve(name), name);
+        long v = ch == null ? Long.MIN_VALUE : parseLong(fill(ch));
+        return v == Long.MIN_VALUE ? Double.NaN : v;
+    }
+
+    private long readLong(Path file) {
+        try {
+            FileChannel ch = channel(file, file.toString());
+            return ch == null ? Long.MIN_VALUE : parseLong(fill(ch));
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private int readStatus() throws IOException {
+        FileChannel ch = channel(battery.resolve("status"), "status");
+        if (ch == null) return UNKNOWN;
+        ByteBuffer b = fill(ch);
+        // Compare bytes in place rather than building a String every poll
+        for (int s = STATUS_NAMES.length - 1; s > 0; s--) {
+            String name = STATUS_NAMES[s];
+            if (b.remaining() < name.length()) continue;
+            boolean match = true;
+            for (int i = 0; i < name.length() && match; i++) match = b.get(b.position() + i) == name.charAt(i);
+            if (match) return s;
+        }
+        return UNKNOWN;
+    }
+
+    private FileChannel channel(Path file, String key) throws IOException {
+        if (files.containsKey(key)) return files.get(key);
+        FileChannel ch = null;
+        if (Files.isRegularFile(file)) ch = FileChannel.open(file, StandardOpenOption.READ);
+        files.put(key, ch);
+        return ch;
+    }
+
+    private ByteBuffer fill(FileChannel ch) throws IOException {
+        buffer.clear();
+        for (long at = 0; buffer.hasRemaining(); ) {
+            int n = ch.read(buffer, at);
+            if (n <= 0) break;
+            at += n;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static long parseLong(ByteBuffer b) {
+        long v = 0;
+        boolean negative = false, digits = false;
+        while (b.hasRemaining()) {
+            byte c = b.get();
+            if (c == '-' && !digits) {
+                negative = true;
+            } else if (c >= '0' && c <= '9') {
+                v = v * 10 + (c - '0');
+                digits = true;
+            } else if (digits || c != ' ') {
+                break;
+            }
+        }
+        return !digits ? Long.MIN_VALUE : negative ? -v : v;
+    }
+
+    private void closeFiles() {
+        for (FileChannel ch : files.values()) {
+            try {
+                if (ch != null) ch.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+        files.clear();
+    }
+
+    private static double nanToZero(double v) {
+        return Double.isNaN(v) ? 0 : v;
+    }
+
+    /** Everything but the level, e.g. {@code Discharging, 9.8 W, about 3 h 12 min left}. */
+    static String describe(Reading r) {
+        StringBuilder sb = new StringBuilder(r.statusName());
+        if (!Double.isNaN(r.watts) && r.watts > 0) sb.append(String.format(", %.1f W", r.watts));
+        if (!Double.isNaN(r.hoursLeft)) {
+            long minutes = Math.round(r.hoursLeft * 60);
+            sb.append(String.format(", about %d h %02d min left", minutes / 60, minutes % 60));
+        } else if (r.onMains) {
+            sb.append(", on AC");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads a sysfs-style tree a few times and prints what it sees, plus the
+     * cost of one read.
+     *
+     * <pre>
+     * java PowerSupplyReader [root] [reads]
+     * </pre>
+     */
+    public static void main(String[] args) {
+        PowerSupplyReader reader = new PowerSupplyReader(args.length > 0 ? Paths.get(args[0]) : DEFAULT_ROOT);
+        int reads = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        if (!reader.hasBattery()) {
+            System.out.println("No battery under " + reader.root);
+            return;
+        }
+        Reading r = reader.read();
+        System.out.println(r.battery + ": " + Math.round(r.percent) + " %, " + describe(r));
+        long t = System.nanoTime();
+        for (int i = 0; i < reads; i++) reader.read();
+        t = System.nanoTime() - t;
+        System.out.printf("%d reads, %.1f us each; %d samples kept%n", reads, t / 1e3 / reads, Math.min(reads + 1, HISTORY));
+        reader.stop();
+    }
+}
@@ -0,0 +1,168 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Stopwatch timing with no UI attached. Elapsed time is summed from
+ * {@link System#nanoTime()} readings across start/pause, so it does not
+ * drift with the wall clock and survives any number of pauses. Laps are
+ * kept as running totals in one growable {@code long[]}, so recording lots
+ * of them creates no objects.
+ *
+ * The clock can be swapped for a fake one to check timing exactly. Not
+ * thread-safe; use it from one thread (the EDT for {@link StopwatchPanel}).
+ */
+public final class Stopwatch {
+    private final LongSupplier clock;
+    private boolean running;
+    // Total from earlier runs, plus the start of the current one while running
+    private long accumulated;
+    private long startedAt;
+
+    private long[] laps = new long[16];
+    private int lapCount;
+
+    public Stopwatch() {
+        this(System::nanoTime);
+    }
+
+    public Stopwatch(LongSupplier nanoClock) {
+        this.clock = nanoClock;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Starts, or resumes after {@link #pause}, keeping the time so far. */
+    public void start() {
+        if (running) return;
+        startedAt = clock.getAsLong();
+        running = true;
+    }
+
+    public void pause() {
+        if (!running) return;
+        accumulated += clock.getAsLong() - startedAt;
+        running = false;
+    }
+
+    /** Back to zero with no laps; keeps running if it was. */
+    public void reset() {
+        accumulated = 0;
+        startedAt = clock.getAsLong();
+        lapCount = 0;
+    }
+
+    public long elapsedNanos() {
+        return running ? accumulated + clock.getAsLong() - startedAt : accumulated;
+    }
+
+    /** Ends a lap now and returns its split. */
+    public long lap() {
+        long total = elapsedNanos();
+        if (lapCount == laps.length) laps = Arrays.copyOf(laps, lapCount * 2);
+        laps[lapCount++] = total;
+        return split(lapCount - 1);
+    }
+
+    public int lapCount() {
+        return lapCount;
+    }
+
+    /** Elapsed time at the end of lap {@code i}. */
+    public long lapTotal(int i) {
+        if (i >= lapCount) throw new IndexOutOfBoundsException(i);
+        return laps[i];
+    }
+
+    /** Length of lap {@code i} on its own. */
+    public long split(int i) {
+        return lapTotal(i) - (i == 0 ? 0 : laps[i - 1]);
+    }
+
+    /** Shortest split, or 0 with no laps. */
+    public long bestSplit() {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < lapCount; i++) best = Math.min(best, split(i));
+        return lapCount == 0 ? 0 : best;
+    }
+
+    public long worstSplit() {
+        long worst = 0;
+        for (int i = 0; i < lapCount; i++) worst = Math.max(worst, split(i));
+        return worst;
+    }
+
+    public long meanSplit() {
+        return lapCount == 0 ? 0 : laps[lapCount - 1] / lapCount;
+    }
+
+    /** One row per lap: number, split and total in milliseconds; the same bytes in every locale. */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("lap,split_ms,total_ms\n");
+        for (int i = 0; i < lapCount; i++) {
+            out.write(String.format(Locale.ROOT, "%d,%.3f,%.3f\n", i + 1, split(i) / 1e6, laps[i] / 1e6));
+        }
+        out.flush();
+    }
+
+    /** {@code H:MM:SS.mmm}, hours only when needed. */
+    public static String format(long nanos) {
+        long ms = nanos / 1_000_000;
+        long h = ms / 3_600_000, m = ms / 60_000 % 60, s = ms / 1000 % 60;
+        return h > 0
+            ? String.format("%d:%02d:%02d.%03d", h, m, s, ms % 1000)
+            : String.format("%02d:%02d.%03d", m, s, ms % 1000);
+    }
+
+    /**
+     * Checks the arithmetic against a fake clock, then measures real elapsed
+     * time across pauses against sleeps and the cost of recording laps.
+     *
+     * <pre>
+     * java Stopwatch [laps]
+     * </pre>
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int lapRuns = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long[] now = {0};
+        Stopwatch fake = new Stopwatch(() -> now[0]);
+        fake.start();
+        now[0] += 1_500_000_000L;
+        fake.lap();
+        fake.pause();
+        now[0] += 9_000_000_000L; // paused time must not count
+        fake.start();
+        now[0] += 500_000_000L;
+        fake.lap();
+        System.out.printf("fake clock: elapsed %s (expect 00:02.000), splits %s / %s, mean %s%n",
+            format(fake.elapsedNanos()), format(fake.split(0)), format(fake.split(1)), format(fake.meanSplit()));
+
+        Stopwatch real = new Stopwatch();
+        long wall = System.nanoTime();
+        real.start();
+        Thread.sleep(300);
+        real.pause();
+        long paused = System.nanoTime();
+        Thread.sleep(200);
+        long pause = System.nanoTime() - paused;
+        real.start();
+        Thread.sleep(300);
+        real.pause();
+        long expected = System.nanoTime() - wall - pause;
+        System.out.printf("real clock: %.3f ms counted, %.3f ms outside the pause, diff %.3f ms%n",
+            real.elapsedNanos() / 1e6, expected / 1e6, (real.elapsedNanos() - expected) / 1e6);
+
+        Stopwatch laps = new Stopwatch();
+        laps.start();
+        long t = System.nanoTime();
+        for (int i = 0; i < lapRuns; i++) laps.lap();
+        t = System.nanoTime() - t;
+        System.out.printf("%d laps in %.1f ms (%.1f ns each), best %d ns, worst %d ns%n",
+            lapRuns, t / 1e6, (double) t / lapRuns, laps.bestSplit(), laps.worstSplit());
+    }
+}
@@ -1,40 +1,127 @@
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+/**
+ * Stopwatch view over a {@link Stopwatch}. The display repaints at the
+ * screen's refresh rate while running and showing, and not at all while
+ * paused or on a hidden tab; the stopwatch keeps counting regardless. The lap
+ * list reads straight from the stopwatch's lap array instead of keeping a
+ * row object per lap.
+ */
 public class StopwatchPanel extends JPanel {
-    private long startTime = 0;
-    private Timer timer;
-    private final JLabel display = new JLabel("00:00:00");
+    private final Stopwatch stopwatch = new Stopwatch();
+    private final JLabel display = new JLabel(Stopwatch.format(0));
+    private final JLabel stats = new JLabel(" ");
+    private final LapModel lapModel = new LapModel();
+    private final ClockTicker.Subscription ticks;
+
+    /** Newest lap first, formatted only when a row is shown. */
+    private final class LapModel extends AbstractListModel<String> {
+        private int size;
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String getElementAt(int row) {
+            int i = stopwatch.lapCount() - 1 - row;
+            return String.format("Lap %-5d %s   %s", i + 1, Stopwatch.format(stopwatch.split(i)), Stopwatch.format(stopwatch.lapTotal(i)));
+        }
+
+        void refresh() {
+            int old = size;
+            size = stopwatch.lapCount();
+            if (size > old) {
+                fireIntervalAdded(this, 0, size - old - 1);
+            } else if (size < old) {
+                fireIntervalRemoved(this, size, old - 1);
+            }
+        }
+    }
 
     public StopwatchPanel() {
         setLayout(new BorderLayout());
         display.setFont(new Font("Consolas", Font.BOLD, 40));
         display.setHorizontalAlignment(SwingConstants.CENTER);
-        add(display, BorderLayout.CENTER);
+        add(display, BorderLayout.NORTH);
+
+        JList<String> laps = new JList<>(lapModel);
+        laps.setFont(new Font("Consolas", Font.PLAIN, 16));
+        // Fixed row size, so the list never formats every lap just to measure it
+        laps.setPrototypeCellValue("Lap 00000 00:00:00.000   00:00:00.000");
+        add(new JScrollPane(laps), BorderLayout.CENTER);
 
-        JButton start = new JButton("Start"), stop = new JButton("Stop"), reset = new JButton("Reset");
+        JButton start = new JButton("Start"), lap = new JButton("Lap"), reset = new JButton("Reset"),
+            export = new JButton("Export CSV");
         JPanel buttons = new JPanel();
         buttons.add(start);
-        buttons.add(stop);
+        buttons.add(lap);
         buttons.add(reset);
-        add(buttons, BorderLayout.SOUTH);
+        buttons.add(export);
+        JPanel south = new JPanel(new BorderLayout());
+        stats.setHorizontalAlignment(SwingConstants.CENTER);
+        south.add(stats, BorderLayout.NORTH);
+        south.add(buttons, BorderLayout.SOUTH);
+        add(south, BorderLayout.SOUTH);
 
-        timer = new Timer(1000, _ -> {
-            long elapsed = (System.currentTimeMillis() - startTime) / 1000;
-            long h = elapsed / 3600, m = (elapsed % 3600) / 60, s = elapsed % 60;
-            display.setText(String.format("%02d:%02d:%02d", h, m, s));
-        });
+        ticks = ClockTicker.shared().subscribe(this, ClockTicker.Rate.FRAME, (_, _) -> showTime());
+        ticks.setActive(false);
 
         start.addActionListener(_ -> {
-            startTime = System.currentTimeMillis();
-            timer.start();
+            if (stopwatch.isRunning()) {
+                stopwatch.pause();
+                ticks.setActive(false);
+                start.setText("Resume");
+            } else {
+                stopwatch.start();
+                ticks.setActive(true);
+                start.setText("Pause");
+            }
+            showTime();
         });
 
-        stop.addActionListener(_ -> timer.stop());
+        lap.addActionListener(_ -> {
+            if (!stopwatch.isRunning()) return;
+            stopwatch.lap();
+            lapModel.refresh();
+            showStats();
+        });
 
         reset.addActionListener(_ -> {
-            timer.stop();
-            display.setText("00:00:00");
+            stopwatch.reset();
+            lapModel.refresh();
+            showStats();
+            showTime();
+            if (!stopwatch.isRunning()) start.setText("Start");
         });
+
+        export.addActionListener(_ -> exportCsv());
+    }
+
+    private void showTime() {
+        display.setText(Stopwatch.format(stopwatch.elapsedNanos()));
+    }
+
+    private void showStats() {
+        stats.setText(stopwatch.lapCount() == 0 ? " " : String.format("Best %s   Worst %s   Mean %s",
+            Stopwatch.format(stopwatch.bestSplit()), Stopwatch.format(stopwatch.worstSplit()),
+            Stopwatch.format(stopwatch.meanSplit())));
+    }
+
+    private void exportCsv() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File("laps.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try (Writer out = Files.newBufferedWriter(chooser.getSelectedFile().toPath(), StandardCharsets.UTF_8)) {
+            stopwatch.writeCsv(out);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "❌ Could not write " + chooser.getSelectedFile() + ": " + e.getMessage());
+        }
     }
 }
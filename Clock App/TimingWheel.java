@@ -0,0 +1,272 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel: six levels of 64 slots over 1 ms ticks, about
+ * two years of range. A task goes into the level of the highest bit where its
+ * deadline tick and the current tick differ, so inserting and cancelling cost
+ * the same however many tasks are waiting. When time reaches a slot on an
+ * upper level, its tasks are moved down a level, until they land on level 0
+ * and run. Deadlines beyond the top level's current turn wait in an overflow
+ * slot, which is re-placed each time the top level comes round again.
+ *
+ * Each level keeps a 64-bit mask of its non-empty slots, so the one wheel
+ * thread can work out the next slot that needs attention and sleep until then,
+ * instead of waking every tick. Deadlines are absolute {@link System#nanoTime()}
+ * values, so they do not drift however long the thread sleeps between ticks.
+ * Tasks run on the wheel thread and should hand off anything slow.
+ */
+public final class TimingWheel {
+    static final long TICK_NANOS = 1_000_000;
+    private static final int LEVELS = 6;
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    // Level LEVELS is the overflow slot
+    private static final int OVERFLOW = LEVELS;
+
+    /** A scheduled task; {@link #cancel} unlinks it in constant time. */
+    public final class Timeout {
+        final long deadline; // nanoTime
+        final Runnable task;
+        private long tick;
+        private int level, slot;
+        private Timeout prev, next;
+        private boolean linked;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /** True if this stopped the task; false if it had already run or been cancelled. */
+        public boolean cancel() {
+            lock.lock();
+            try {
+                if (!linked) return false;
+                unlink(this);
+                size--;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final long origin = System.nanoTime();
+    private final Timeout[][] heads = new Timeout[LEVELS + 1][SLOTS];
+    private final long[] occupied = new long[LEVELS + 1];
+    private long now; // ticks since origin
+    private long wakeAt = Long.MAX_VALUE;
+    private int size;
+    private final List<Timeout> due = new ArrayList<>();
+
+    public TimingWheel(String threadName) {
+        Thread t = new Thread(this::run, threadName);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Runs {@code task} on the wheel thread once {@code System.nanoTime()} reaches {@code deadlineNanos}. */
+    public Timeout schedule(long deadlineNanos, Runnable task) {
+        Timeout t = new Timeout(deadlineNanos, task);
+        lock.lock();
+        try {
+            insert(t);
+            size++;
+            if (t.tick < wakeAt) changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return t;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long tickOf(long nanos) {
+        // Compared by difference, as nanoTime values must be; rounded up, so nothing runs before its deadline
+        long sinceOrigin = nanos - origin;
+        if (sinceOrigin <= 0) return 0;
+        return sinceOrigin / TICK_NANOS + (sinceOrigin % TICK_NANOS == 0 ? 0 : 1);
+    }
+
+    private void insert(Timeout t) {
+        // Past deadlines run on the next pass; ones past the top level's turn wait in the overflow slot
+        long tick = Math.max(tickOf(t.deadline), now);
+        int level = tick == now ? 0 : Math.min(OVERFLOW, (63 - Long.numberOfLeadingZeros(tick ^ now)) / BITS);
+        int slot = level == OVERFLOW ? 0 : (int) (tick >>> (level * BITS)) & (SLOTS - 1);
+        t.tick = tick;
+        t.level = level;
+        t.slot = slot;
+        t.prev = null;
+        t.next = heads[level][slot];
+        if (t.next != null) t.next.prev = t;
+        heads[level][slot] = t;
+        occupied[level] |= 1L << slot;
+        t.linked = true;
+    }
+
+    private void unlink(Timeout t) {
+        if (t.prev != null) {
+            t.prev.next = t.next;
+        } else {
+            heads[t.level][t.slot] = t.next;
+            if (t.next == null) occupied[t.level] &= ~(1L << t.slot);
+        }
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = t.next = null;
+        t.linked = false;
+    }
+
+    /**
+     * First tick at or after {@code now} where some slot needs handling, or
+     * Long.MAX_VALUE if the wheel is empty. An upper-level slot needs handling
+     * at its first tick, to move its tasks down, and the overflow slot when the
+     * top level starts its next turn.
+     */
+    private long nextTick() {
+        long best = occupied[OVERFLOW] == 0 ? Long.MAX_VALUE : ((now >>> (LEVELS * BITS)) + 1) << (LEVELS * BITS);
+        for (int level = 0; level < LEVELS; level++) {
+            if (occupied[level] == 0) continue;
+            int shift = level * BITS;
+            int current = (int) (now >>> shift) & (SLOTS - 1);
+            // Level 0 includes the current slot; upper levels only hold later slots
+            int from = level == 0 ? current : current + 1;
+            long mask = from >= SLOTS ? 0 : occupied[level] & (-1L << from);
+            if (mask == 0) continue;
+            int slot = Long.numberOfTrailingZeros(mask);
+            long base = (now >>> (shift + BITS)) << (shift + BITS);
+            best = Math.min(best, base | ((long) slot << shift));
+        }
+        return best;
+    }
+
+    /** Moves time forward to {@code target}, collecting what is due into {@link #due}. */
+    private void advance(long target) {
+        while (true) {
+            long next = nextTick();
+            if (next > target) {
+                now = Math.max(now, target);
+                return;
+            }
+            now = next;
+            for (int level = OVERFLOW; level >= 0; level--) {
+                int slot = level == OVERFLOW ? 0 : (int) (now >>> (level * BITS)) & (SLOTS - 1);
+                if ((occupied[level] & (1L << slot)) == 0) continue;
+                if (level > 0 && (now & ((1L << (level * BITS)) - 1)) != 0) continue;
+                Timeout t = heads[level][slot];
+                heads[level][slot] = null;
+                occupied[level] &= ~(1L << slot);
+                while (t != null) {
+                    Timeout following = t.next;
+                    t.prev = t.next = null;
+                    t.linked = false;
+                    if (level == 0 && t.tick <= now && tickOf(t.deadline) <= now) {
+                        due.add(t);
+                        size--;
+                    } else {
+                        insert(t);
+                    }
+                    t = following;
+                }
+            }
+        }
+    }
+
+    private void run() {
+        List<Timeout> batch = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                advance(Math.floorDiv(System.nanoTime() - origin, TICK_NANOS));
+                if (due.isEmpty()) {
+                    long next = nextTick();
+                    wakeAt = next;
+                    if (next == Long.MAX_VALUE) {
+                        changed.awaitUninterruptibly();
+                    } else {
+                        long delay = origin + next * TICK_NANOS - System.nanoTime();
+                        if (delay > 0) changed.awaitNanos(delay);
+                    }
+                    wakeAt = Long.MAX_VALUE;
+                    continue;
+                }
+                batch.addAll(due);
+                due.clear();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            for (Timeout t : batch) {
+                try {
+                    t.task.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Schedules many tasks at random deadlines, cancels some, and reports how
+     * late the rest ran and how much CPU the wheel thread used.
+     *
+     * <pre>
+     * java TimingWheel [tasks] [spreadMillis]
+     * </pre>
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long spread = args.length > 1 ? Long.parseLong(args[1]) : 3_000;
+        TimingWheel wheel = new TimingWheel("timing-wheel");
+        Random random = new Random(1);
+        AtomicLong lateSum = new AtomicLong(), lateMax = new AtomicLong();
+        Timeout[] timeouts = new Timeout[tasks];
+        int cancelled = 0;
+
+        long start = System.nanoTime();
+        CountDownLatch done = new CountDownLatch(tasks - tasks / 10);
+        for (int i = 0; i < tasks; i++) {
+            long deadline = start + (long) (random.nextDouble() * spread * 1_000_000);
+            timeouts[i] = wheel.schedule(deadline, () -> {
+                long late = System.nanoTime() - deadline;
+                if (late < 0) System.out.println("ran early by " + -late + " ns");
+                lateSum.addAndGet(late);
+                lateMax.accumulateAndGet(late, Math::max);
+                done.countDown();
+            });
+        }
+        long scheduled = System.nanoTime() - start;
+        for (int i = 0; i < tasks / 10; i++) if (timeouts[i * 10].cancel()) cancelled++;
+
+        long cpu = processCpu();
+        boolean finished = done.await(spread + 10_000, TimeUnit.MILLISECONDS);
+        int ran = tasks - cancelled;
+        System.out.printf("%d scheduled in %.1f ms, %d cancelled, %s%n", tasks, scheduled / 1e6, cancelled,
+            finished ? "all the rest ran" : "NOT all ran");
+        System.out.printf("late by mean %.3f ms, max %.3f ms; %d still waiting%n",
+            lateSum.get() / 1e6 / ran, lateMax.get() / 1e6, wheel.size());
+        if (cpu >= 0) System.out.printf("process CPU while waiting: %.1f ms over %d ms%n", (processCpu() - cpu) / 1e6, spread);
+    }
+
+    private static long processCpu() {
+        java.lang.management.OperatingSystemMXBean os = java.lang.management.ManagementFactory.getOperatingSystemMXBean();
+        return os instanceof com.sun.management.OperatingSystemMXBean sun ? sun.getProcessCpuTime() : -1;
+    }
+}
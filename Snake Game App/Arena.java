@@ -0,0 +1,390 @@
+package SnakeGamejava;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * One multiplayer arena: every snake moves on the same tick, against one
+ * shared occupancy bitset. Per-player state is kept in parallel arrays
+ * indexed by slot. A tick resolves all moves first (walls, bodies, two heads
+ * claiming the same cell) and only then changes the grid, so the outcome does
+ * not depend on player order. Everything that changed is appended to one
+ * delta frame that is encoded once and handed to every connection.
+ *
+ * Only the tick thread touches arena state; connections talk to it through
+ * the membership queue and the pending-direction array.
+ */
+final class Arena implements Runnable {
+    static final int START_LENGTH = SnakeSimulation.START_LENGTH;
+    static final int RESPAWN_TICKS = 10;
+    private static final int SPAWN_TRIES = 64;
+    // Apple slot eaten this tick, until step 4 places it again or reports it gone
+    private static final int EATEN = -2;
+
+    final int id;
+    private final int cols, rows, capacity;
+    private final ArenaServer server;
+
+    private final long[] occupied;
+    // Stamped with the tick number by the first snake heading for a cell
+    private final int[] claimTick;
+    private final int[] claimSlot;
+
+    // Per-slot state
+    private final ArenaServer.Connection[] players;
+    private final int[][] ring;
+    private final int[] head, length, bodyParts, next, respawnAt;
+    private final char[] direction;
+    private final boolean[] alive, collided;
+    private final AtomicIntegerArray pending;
+    private final int[] freeSlots;
+    private int freeCount;
+    int playerCount;
+
+    private final int[] apples; // cell, or -1 when not placed
+
+    // Joins and leaves in the order they happened, so a leave is never applied before its join
+    private final ConcurrentLinkedQueue<Membership> membership = new ConcurrentLinkedQueue<>();
+    private final ArenaServer.Connection[] welcomed;
+    private int welcomedCount;
+
+    private final ArenaProtocol.Buffer events = new ArenaProtocol.Buffer();
+    private final ArenaProtocol.Buffer payload = new ArenaProtocol.Buffer();
+    private int eventCount;
+
+    private long rng;
+    private int tick;
+
+    Arena(int id, int cols, int rows, int capacity, long seed, ArenaServer server) {
+        this.id = id;
+        this.cols = cols;
+        this.rows = rows;
+        this.capacity = capacity;
+        this.server = server;
+        int cells = cols * rows;
+        occupied = new long[(cells + 63) >>> 6];
+        claimTick = new int[cells];
+        claimSlot = new int[cells];
+        java.util.Arrays.fill(claimTick, -1);
+
+        players = new ArenaServer.Connection[capacity];
+        ring = new int[capacity][];
+        head = new int[capacity];
+        length = new int[capacity];
+        bodyParts = new int[capacity];
+        next = new int[capacity];
+        respawnAt = new int[capacity];
+        direction = new char[capacity];
+        alive = new boolean[capacity];
+        collided = new boolean[capacity];
+        pending = new AtomicIntegerArray(capacity);
+        freeSlots = new int[capacity];
+        for (int s = capacity - 1; s >= 0; s--) freeSlots[freeCount++] = s;
+        welcomed = new ArenaServer.Connection[capacity];
+
+        apples = new int[Math.max(1, capacity / 4)];
+        java.util.Arrays.fill(apples, -1);
+        rng = seed;
+    }
+
+    private static final class Membership {
+        final ArenaServer.Connection connection;
+        final boolean join;
+
+        Membership(ArenaServer.Connection connection, boolean join) {
+            this.connection = connection;
+            this.join = join;
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void join(ArenaServer.Connection c) {
+        membership.add(new Membership(c, true));
+    }
+
+    void leave(ArenaServer.Connection c) {
+        membership.add(new Membership(c, false));
+    }
+
+    /** Called from connection threads; applied at the start of the next tick. */
+    void steer(int slot, char d) {
+        if (slot >= 0) pending.set(slot, d);
+    }
+
+    @Override
+    public void run() {
+        try {
+            long start = System.nanoTime();
+            events.clear();
+            eventCount = 0;
+
+            welcomedCount = 0;
+            for (Membership m; (m = membership.poll()) != null; ) {
+                if (m.join) {
+                    addPlayer(m.connection);
+                } else {
+                    removePlayer(m.connection);
+                }
+            }
+
+            step();
+
+            payload.clear();
+            payload.writeVarint(ArenaProtocol.TICK);
+            payload.writeVarint(tick);
+            payload.writeVarint(eventCount);
+            payload.write(events);
+            byte[] frame = payload.toFrame();
+
+            int recipients = 0;
+            for (int s = 0; s < capacity; s++) {
+                ArenaServer.Connection c = players[s];
+                if (c == null || isWelcomed(c)) continue;
+                c.send(frame);
+                recipients++;
+            }
+            // Joiners get the state as of the end of this tick instead of its deltas
+            for (int i = 0; i < welcomedCount; i++) welcomed[i].send(snapshot(welcomed[i].slot));
+            tick++;
+            server.recordTick(System.nanoTime() - start, (long) frame.length * recipients);
+        } catch (RuntimeException e) {
+            // A failing tick must not cancel the arena's schedule
+            e.printStackTrace();
+        }
+    }
+
+    private boolean isWelcomed(ArenaServer.Connection c) {
+        for (int i = 0; i < welcomedCount; i++) if (welcomed[i] == c) return true;
+        return false;
+    }
+
+    private void addPlayer(ArenaServer.Connection c) {
+        if (freeCount == 0) {
+            c.close();
+            return;
+        }
+        int s = freeSlots[--freeCount];
+        players[s] = c;
+        if (ring[s] == null) ring[s] = new int[16];
+        alive[s] = false;
+        respawnAt[s] = tick;
+        pending.set(s, 0);
+        playerCount++;
+        c.slot = s;
+        welcomed[welcomedCount++] = c;
+    }
+
+    private void removePlayer(ArenaServer.Connection c) {
+        int s = c.slot;
+        if (s < 0 || players[s] != c) return;
+        if (alive[s]) kill(s);
+        players[s] = null;
+        freeSlots[freeCount++] = s;
+        playerCount--;
+        c.slot = -1;
+        for (int i = 0; i < welcomedCount; i++) {
+            if (welcomed[i] == c) welcomed[i] = welcomed[--welcomedCount];
+        }
+    }
+
+    private void step() {
+        // 1. Where every live snake wants to go, and which cells two heads fight over
+        for (int s = 0; s < capacity; s++) {
+            if (!alive[s]) continue;
+            collided[s] = false;
+            char d = (char) pending.getAndSet(s, 0);
+            if (d != 0 && d != SnakeSimulation.opposite(direction[s])) direction[s] = d;
+            int cell = target(ring[s][head[s]], direction[s]);
+            next[s] = cell;
+            if (cell < 0) continue;
+            if (claimTick[cell] == tick) {
+                collided[s] = true;
+                collided[claimSlot[cell]] = true;
+            } else {
+                claimTick[cell] = tick;
+                claimSlot[cell] = s;
+            }
+        }
+
+        // 2. Decide deaths against the grid as it was before anyone moved
+        for (int s = 0; s < capacity; s++) {
+            if (!alive[s]) continue;
+            int cell = next[s];
+            if (cell < 0 || isOccupied(cell)) collided[s] = true;
+        }
+
+        // 3. Survivors move, eat and drop their tails; the dead are cleared
+        for (int s = 0; s < capacity; s++) {
+            if (!alive[s]) continue;
+            if (collided[s]) {
+                kill(s);
+                continue;
+            }
+            int cell = next[s];
+            addHead(s, cell);
+            event(ArenaProtocol.HEAD, s, cell);
+            for (int a = 0; a < apples.length; a++) {
+                if (apples[a] == cell) {
+                    bodyParts[s]++;
+                    apples[a] = EATEN;
+                }
+            }
+        }
+        for (int s = 0; s < capacity; s++) {
+            if (!alive[s]) continue;
+            while (length[s] > bodyParts[s]) {
+                removeTail(s);
+                events.writeVarint(ArenaProtocol.TAIL);
+                events.writeVarint(s);
+                eventCount++;
+            }
+        }
+
+        // 4. Respawns and new apples go on cells that are free after the moves
+        for (int s = 0; s < capacity; s++) {
+            if (players[s] != null && !alive[s] && tick >= respawnAt[s]) spawn(s);
+        }
+        for (int a = 0; a < apples.length; a++) {
+            if (apples[a] >= 0) continue;
+            boolean eaten = apples[a] == EATEN;
+            apples[a] = -1;
+            int cell = randomFreeCell();
+            if (cell < 0) {
+                // Nowhere to put it this tick; clients still have to stop drawing the eaten one
+                if (eaten) event(ArenaProtocol.APPLE, a, 0);
+                continue;
+            }
+            apples[a] = cell;
+            event(ArenaProtocol.APPLE, a, cell + 1);
+        }
+    }
+
+    private void spawn(int s) {
+        for (int t = 0; t < SPAWN_TRIES; t++) {
+            int cell = randomFreeCell();
+            if (cell < 0) return;
+            char d = "UDLR".charAt(nextInt(4));
+            // Leave room to unfold before the first turn
+            if (!clearAhead(cell, d, 3)) continue;
+            length[s] = 0;
+            addHead(s, cell);
+            bodyParts[s] = START_LENGTH;
+            direction[s] = d;
+            pending.set(s, 0);
+            alive[s] = true;
+            event(ArenaProtocol.SPAWN, s, cell);
+            return;
+        }
+        respawnAt[s] = tick + 1;
+    }
+
+    private boolean clearAhead(int cell, char d, int n) {
+        for (int i = 0; i < n; i++) {
+            cell = target(cell, d);
+            if (cell < 0 || isOccupied(cell)) return false;
+        }
+        return true;
+    }
+
+    private void kill(int s) {
+        while (length[s] > 0) removeTail(s);
+        alive[s] = false;
+        respawnAt[s] = tick + RESPAWN_TICKS;
+        events.writeVarint(ArenaProtocol.DIE);
+        events.writeVarint(s);
+        eventCount++;
+    }
+
+    private void event(int kind, int id, int value) {
+        events.writeVarint(kind);
+        events.writeVarint(id);
+        events.writeVarint(value);
+        eventCount++;
+    }
+
+    private void addHead(int s, int cell) {
+        int[] r = ring[s];
+        if (length[s] == r.length) {
+            // Unroll into a bigger ring with the tail at slot 0
+            int[] bigger = new int[r.length * 2];
+            for (int i = 0; i < length[s]; i++) bigger[i] = segment(s, length[s] - 1 - i);
+            ring[s] = r = bigger;
+            head[s] = length[s] - 1;
+        }
+        head[s] = length[s] == 0 || head[s] + 1 == r.length ? 0 : head[s] + 1;
+        r[head[s]] = cell;
+        length[s]++;
+        occupied[cell >>> 6] |= 1L << cell;
+    }
+
+    private void removeTail(int s) {
+        int cell = segment(s, length[s] - 1);
+        length[s]--;
+        occupied[cell >>> 6] &= ~(1L << cell);
+    }
+
+    /** Segment {@code i} of snake {@code s}, counted from the head. */
+    private int segment(int s, int i) {
+        int slot = head[s] - i;
+        return ring[s][slot < 0 ? slot + ring[s].length : slot];
+    }
+
+    private boolean isOccupied(int cell) {
+        return (occupied[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private int target(int cell, char d) {
+        int row = cell / cols, col = cell % cols;
+        switch (d) {
+            case 'U' -> row--;
+            case 'D' -> row++;
+            case 'L' -> col--;
+            default -> col++;
+        }
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return -1;
+        return row * cols + col;
+    }
+
+    private int randomFreeCell() {
+        for (int t = 0; t < SPAWN_TRIES; t++) {
+            int cell = nextInt(cols * rows);
+            if (isOccupied(cell)) continue;
+            boolean apple = false;
+            for (int a : apples) apple |= a == cell;
+            if (!apple) return cell;
+        }
+        return -1;
+    }
+
+    private byte[] snapshot(int you) {
+        ArenaProtocol.Buffer b = new ArenaProtocol.Buffer();
+        b.writeVarint(ArenaProtocol.WELCOME);
+        b.writeVarint(you);
+        b.writeVarint(cols);
+        b.writeVarint(rows);
+        b.writeVarint(tick);
+        int live = 0;
+        for (int s = 0; s < capacity; s++) if (alive[s]) live++;
+        b.writeVarint(live);
+        for (int s = 0; s < capacity; s++) {
+            if (!alive[s]) continue;
+            b.writeVarint(s);
+            b.writeVarint(length[s]);
+            for (int i = length[s] - 1; i >= 0; i--) b.writeVarint(segment(s, i));
+        }
+        b.writeVarint(apples.length);
+        for (int a : apples) b.writeVarint(a + 1);
+        return b.toFrame();
+    }
+
+    private int nextInt(int bound) {
+        long z = (rng += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) (((z >>> 33) * bound) >>> 31);
+    }
+}
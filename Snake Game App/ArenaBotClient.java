@@ -0,0 +1,120 @@
+package SnakeGamejava;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for {@link ArenaServer}. For each player count it connects
+ * that many bots, each a virtual thread that turns at random every few ticks
+ * and reads every frame, runs for a while, then asks the server for its tick
+ * stats and disconnects the bots before the next step.
+ *
+ * <pre>
+ * java SnakeGamejava.ArenaBotClient [host] [port] [playerCounts] [seconds]
+ * java SnakeGamejava.ArenaBotClient localhost 5060 1,100,1000 10
+ * </pre>
+ */
+public final class ArenaBotClient {
+    private final String host;
+    private final int port;
+
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder framesIn = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final SynchronousQueue<long[]> stats = new SynchronousQueue<>();
+
+    ArenaBotClient(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    private void phase(int players, int seconds) throws InterruptedException, IOException {
+        Socket[] sockets = new Socket[players];
+        CountDownLatch welcomed = new CountDownLatch(players);
+        for (int p = 0; p < players; p++) {
+            Socket socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            sockets[p] = socket;
+            int id = p;
+            Thread.ofVirtual().name("arena-bot").start(() -> play(socket, id, welcomed));
+        }
+        if (!welcomed.await(30, TimeUnit.SECONDS)) System.out.println("  not every bot was welcomed");
+
+        OutputStream control = sockets[0].getOutputStream();
+        Thread.sleep(1000); // let spawns settle
+        control.write('S');
+        stats.take(); // starts the server's window
+        bytesIn.reset();
+        framesIn.reset();
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        control.write('S');
+        long[] s = stats.take();
+        double secs = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%5d players  %3d arenas  tick mean %7.1fus max %8.1fus  %,9d bytes/tick  "
+                + "client %,7.0f frames/s %,9.0f bytes/s  %d errors%n",
+            s[0], s[1], s[3] / 1e3, s[4] / 1e3, s[5], framesIn.sum() / secs, bytesIn.sum() / secs, errors.sum());
+
+        for (Socket socket : sockets) socket.close();
+        Thread.sleep(500); // let the server drop them before the next step
+    }
+
+    private void play(Socket socket, int id, CountDownLatch welcomed) {
+        SplittableRandom rnd = new SplittableRandom(id);
+        boolean welcome = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 14))) {
+            OutputStream out = socket.getOutputStream();
+            byte[] payload = new byte[256];
+            while (true) {
+                int length = (int) ArenaProtocol.readVarint(in);
+                if (length > payload.length) payload = new byte[Math.max(length, payload.length * 2)];
+                in.readFully(payload, 0, length);
+                bytesIn.add(length + 1);
+                framesIn.increment();
+                int type = payload[0];
+                if (type == ArenaProtocol.WELCOME && !welcome) {
+                    welcome = true;
+                    welcomed.countDown();
+                } else if (type == ArenaProtocol.STATS) {
+                    stats.put(parse(payload, length));
+                } else if (type == ArenaProtocol.TICK && rnd.nextInt(5) == 0) {
+                    out.write("UDLR".charAt(rnd.nextInt(4)));
+                }
+            }
+        } catch (IOException e) {
+            // closed at the end of the phase, or dropped by the server
+            if (!socket.isClosed()) errors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!welcome) welcomed.countDown();
+        }
+    }
+
+    private static long[] parse(byte[] payload, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(payload, 0, length));
+        ArenaProtocol.readVarint(in); // type
+        long[] fields = new long[6];
+        for (int i = 0; i < fields.length; i++) fields[i] = ArenaProtocol.readVarint(in);
+        return fields;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 5060;
+        String[] counts = (args.length > 2 ? args[2] : "1,100,1000").split(",");
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        ArenaBotClient client = new ArenaBotClient(host, port);
+        for (String n : counts) client.phase(Integer.parseInt(n.trim()), seconds);
+    }
+}
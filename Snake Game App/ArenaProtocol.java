@@ -0,0 +1,89 @@
+package SnakeGamejava;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Wire format between {@link ArenaServer} and its clients. Every server frame
+ * is a varint payload length followed by the payload; every number in a
+ * payload is an unsigned varint. Clients send single bytes: 'U', 'D', 'L',
+ * 'R' to steer and 'S' to ask for a STATS frame.
+ *
+ * <pre>
+ * WELCOME  0 yourId cols rows tick snakeCount {id length cell...(tail to head)} appleCount {cell}
+ * TICK     1 tick eventCount {event}
+ *   HEAD   0 id cell       head added
+ *   TAIL   1 id            tail removed
+ *   APPLE  2 index cell    apple moved (cell + 1, 0 when not placed)
+ *   SPAWN  3 id cell       new one-cell snake
+ *   DIE    4 id            snake removed
+ * STATS    2 players arenas ticks meanTickNanos maxTickNanos bytesPerTick
+ * </pre>
+ *
+ * After WELCOME a client gets one TICK frame per arena tick, holding only what
+ * changed, so a quiet tick costs a few bytes no matter how big the arena is.
+ */
+final class ArenaProtocol {
+    static final int WELCOME = 0, TICK = 1, STATS = 2;
+    static final int HEAD = 0, TAIL = 1, APPLE = 2, SPAWN = 3, DIE = 4;
+
+    private ArenaProtocol() {
+    }
+
+    /** Growable byte buffer for building payloads without per-event allocation. */
+    static final class Buffer {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeVarint(long v) {
+            if (size + 10 > bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            while ((v & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        void write(Buffer other) {
+            if (size + other.size > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + other.size));
+            System.arraycopy(other.bytes, 0, bytes, size, other.size);
+            size += other.size;
+        }
+
+        /** The contents as a complete frame: length prefix plus payload. */
+        byte[] toFrame() {
+            int prefix = 1;
+            for (long v = size; (v & ~0x7FL) != 0; v >>>= 7) prefix++;
+            byte[] frame = new byte[prefix + size];
+            int at = 0;
+            long v = size;
+            while ((v & ~0x7FL) != 0) {
+                frame[at++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            frame[at++] = (byte) v;
+            System.arraycopy(bytes, 0, frame, at, size);
+            return frame;
+        }
+    }
+
+    static long readVarint(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new EOFException("Malformed varint");
+    }
+}
@@ -0,0 +1,219 @@
+package SnakeGamejava;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multiplayer Snake over TCP. Players are packed into {@link Arena}s of fixed
+ * capacity; every arena ticks at a fixed rate on a small shared scheduled
+ * pool, however many arenas there are. Each connection has a virtual thread
+ * reading its steering bytes and another writing its frames from a bounded
+ * queue, so a slow client only delays itself. A client that falls a full
+ * queue behind is dropped, since it could never catch up on deltas.
+ * Wire format in {@link ArenaProtocol}.
+ *
+ * <pre>
+ * java SnakeGamejava.ArenaServer [port] [tickThreads] [cols] [rows] [playersPerArena] [ticksPerSecond]
+ * </pre>
+ */
+public final class ArenaServer {
+    private static final int SEND_QUEUE = 256;
+
+    private final int port;
+    private final int cols, rows, arenaCapacity;
+    private final long tickNanos;
+    private final ScheduledExecutorService ticker;
+    private final List<Arena> arenas = new ArrayList<>();
+    // Seats taken per arena, counted at accept time so joins never overfill one
+    private final List<int[]> seats = new ArrayList<>();
+    private final AtomicInteger players = new AtomicInteger();
+
+    // Since the last STATS request
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder tickNanosSum = new LongAdder();
+    private final AtomicLong tickNanosMax = new AtomicLong();
+    private final LongAdder bytesOut = new LongAdder();
+    private volatile long windowStart = System.nanoTime();
+
+    public ArenaServer(int port, int tickThreads, int cols, int rows, int arenaCapacity, double ticksPerSecond) {
+        this.port = port;
+        this.cols = cols;
+        this.rows = rows;
+        this.arenaCapacity = arenaCapacity;
+        this.tickNanos = (long) (1e9 / ticksPerSecond);
+        AtomicInteger ids = new AtomicInteger();
+        this.ticker = Executors.newScheduledThreadPool(tickThreads, r -> {
+            Thread t = new Thread(r, "arena-tick-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void serve() throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 4096)) {
+            System.out.println("Snake arena server on port " + server.getLocalPort());
+            Thread.ofPlatform().daemon().name("arena-stats").start(this::reportLoop);
+            while (true) {
+                Socket socket = server.accept();
+                Thread.ofVirtual().name("arena-conn").start(() -> handle(socket));
+            }
+        }
+    }
+
+    /** One player's socket plus its outgoing frame queue. */
+    static final class Connection {
+        final Socket socket;
+        private final BlockingQueue<byte[]> outbox = new ArrayBlockingQueue<>(SEND_QUEUE);
+        // Assigned by the arena's tick thread; -1 until joined
+        volatile int slot = -1;
+        private volatile boolean closed;
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void send(byte[] frame) {
+            if (!closed && !outbox.offer(frame)) close();
+        }
+
+        void close() {
+            closed = true;
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already gone
+            }
+        }
+
+        private void writeLoop() {
+            try (OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 1 << 14)) {
+                while (!closed) {
+                    byte[] frame = outbox.poll(1, TimeUnit.SECONDS);
+                    if (frame == null) continue;
+                    out.write(frame);
+                    // Batch whatever else is already queued into the same flush
+                    for (byte[] more; (more = outbox.poll()) != null; ) out.write(more);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                close();
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        Connection c = new Connection(socket);
+        Arena arena = assign();
+        players.incrementAndGet();
+        try (socket; InputStream in = socket.getInputStream()) {
+            socket.setTcpNoDelay(true);
+            Thread.ofVirtual().name("arena-send").start(c::writeLoop);
+            arena.join(c);
+            int b;
+            while ((b = in.read()) >= 0) {
+                switch (b) {
+                    case 'U', 'D', 'L', 'R' -> arena.steer(c.slot, (char) b);
+                    case 'S' -> c.send(statsFrame());
+                    default -> {
+                        // ignore line endings and noise
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        } finally {
+            c.close();
+            arena.leave(c);
+            release(arena);
+            players.decrementAndGet();
+        }
+    }
+
+    private synchronized Arena assign() {
+        for (int i = 0; i < arenas.size(); i++) {
+            if (seats.get(i)[0] < arenaCapacity) {
+                seats.get(i)[0]++;
+                return arenas.get(i);
+            }
+        }
+        Arena a = new Arena(arenas.size(), cols, rows, arenaCapacity, System.nanoTime(), this);
+        arenas.add(a);
+        seats.add(new int[] {1});
+        // Stagger arenas across the tick period so they do not all land on the pool at once
+        long offset = (arenas.size() % 8) * tickNanos / 8;
+        ticker.scheduleAtFixedRate(a, offset, tickNanos, TimeUnit.NANOSECONDS);
+        return a;
+    }
+
+    private synchronized void release(Arena arena) {
+        seats.get(arena.id)[0]--;
+    }
+
+    private synchronized int arenaCount() {
+        return arenas.size();
+    }
+
+    void recordTick(long nanos, long bytes) {
+        ticks.increment();
+        tickNanosSum.add(nanos);
+        tickNanosMax.accumulateAndGet(nanos, Math::max);
+        bytesOut.add(bytes);
+    }
+
+    /** Stats since the previous request, then starts a new window. */
+    private synchronized byte[] statsFrame() {
+        long n = ticks.sumThenReset();
+        long sum = tickNanosSum.sumThenReset();
+        long max = tickNanosMax.getAndSet(0);
+        long bytes = bytesOut.sumThenReset();
+        long now = System.nanoTime();
+        double periods = Math.max(1, (double) (now - windowStart) / tickNanos);
+        windowStart = now;
+
+        ArenaProtocol.Buffer b = new ArenaProtocol.Buffer();
+        b.writeVarint(ArenaProtocol.STATS);
+        b.writeVarint(players.get());
+        b.writeVarint(arenaCount());
+        b.writeVarint(n);
+        b.writeVarint(n == 0 ? 0 : sum / n);
+        b.writeVarint(max);
+        // Across all arenas per tick period
+        b.writeVarint(Math.round(bytes / periods));
+        return b.toFrame();
+    }
+
+    private void reportLoop() {
+        while (true) {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                return;
+            }
+            System.out.printf("players=%d arenas=%d%n", players.get(), arenaCount());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 5060;
+        int tickThreads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int cols = args.length > 2 ? Integer.parseInt(args[2]) : 128;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 96;
+        int perArena = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        double tps = args.length > 5 ? Double.parseDouble(args[5]) : 10;
+        new ArenaServer(port, tickThreads, cols, rows, perArena, tps).serve();
+    }
+}
@@ -0,0 +1,118 @@
+package SnakeGamejava;
+
+/**
+ * Occupancy bits for very large grids, split into 64 x 64 chunks that are
+ * allocated on first use and dropped again once empty. Inside a chunk each
+ * row is one long, so a viewport can be scanned a row mask at a time.
+ * Chunks are found through a two-level directory (64 x 64 chunks per
+ * directory page, pages also allocated lazily), so memory follows the area
+ * the snake covers rather than the nominal size of the world.
+ */
+public final class ChunkedGrid {
+    static final int SHIFT = 6;
+    static final int SIZE = 1 << SHIFT;
+    private static final int MASK = SIZE - 1;
+    // Slot after the 64 row words holding the chunk's set-bit count
+    private static final int COUNT = SIZE;
+
+    private final int cols, rows;
+    private final int chunkCols, chunkRows;
+    private final int pageCols;
+    private final long[][][] pages;
+    private final int[] pageCounts;
+    private int allocated, allocatedPages;
+
+    public ChunkedGrid(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        chunkCols = (cols + MASK) >>> SHIFT;
+        chunkRows = (rows + MASK) >>> SHIFT;
+        pageCols = (chunkCols + MASK) >>> SHIFT;
+        int pageRows = (chunkRows + MASK) >>> SHIFT;
+        pages = new long[pageCols * pageRows][][];
+        pageCounts = new int[pages.length];
+    }
+
+    public int cols() { return cols; }
+    public int rows() { return rows; }
+    public int chunkCols() { return chunkCols; }
+    public int chunkRows() { return chunkRows; }
+
+    public boolean get(int x, int y) {
+        long[] chunk = chunk(x >>> SHIFT, y >>> SHIFT);
+        return chunk != null && (chunk[y & MASK] & (1L << x)) != 0;
+    }
+
+    public void set(int x, int y) {
+        int cx = x >>> SHIFT, cy = y >>> SHIFT;
+        int p = page(cx, cy);
+        long[][] page = pages[p];
+        if (page == null) {
+            page = pages[p] = new long[SIZE * SIZE][];
+            allocatedPages++;
+        }
+        int slot = slot(cx, cy);
+        long[] chunk = page[slot];
+        if (chunk == null) {
+            chunk = page[slot] = new long[SIZE + 1];
+            pageCounts[p]++;
+            allocated++;
+        }
+        long bit = 1L << x;
+        if ((chunk[y & MASK] & bit) == 0) {
+            chunk[y & MASK] |= bit;
+            chunk[COUNT]++;
+        }
+    }
+
+    public void clear(int x, int y) {
+        int cx = x >>> SHIFT, cy = y >>> SHIFT;
+        int p = page(cx, cy);
+        long[][] page = pages[p];
+        if (page == null) return;
+        int slot = slot(cx, cy);
+        long[] chunk = page[slot];
+        long bit = 1L << x;
+        if (chunk == null || (chunk[y & MASK] & bit) == 0) return;
+        chunk[y & MASK] &= ~bit;
+        if (--chunk[COUNT] == 0) {
+            page[slot] = null;
+            allocated--;
+            if (--pageCounts[p] == 0) {
+                pages[p] = null;
+                allocatedPages--;
+            }
+        }
+    }
+
+    /**
+     * Bits of row {@code y} for the 64 columns starting at {@code chunkX * 64};
+     * bit {@code x & 63} is column x. Zero if that chunk is not allocated.
+     */
+    public long rowBits(int chunkX, int y) {
+        long[] chunk = chunk(chunkX, y >>> SHIFT);
+        return chunk == null ? 0 : chunk[y & MASK];
+    }
+
+    public int allocatedChunks() {
+        return allocated;
+    }
+
+    /** Approximate heap held by the grid, in bytes. */
+    public long bytesUsed() {
+        return pages.length * 12L + allocatedPages * (16L + SIZE * SIZE * 4L) + allocated * (16L + (SIZE + 1) * 8L);
+    }
+
+    private long[] chunk(int cx, int cy) {
+        long[][] page = pages[page(cx, cy)];
+        return page == null ? null : page[slot(cx, cy)];
+    }
+
+    private int page(int cx, int cy) {
+        return (cy >>> SHIFT) * pageCols + (cx >>> SHIFT);
+    }
+
+    private static int slot(int cx, int cy) {
+        return ((cy & MASK) << SHIFT) | (cx & MASK);
+    }
+}
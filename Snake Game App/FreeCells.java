@@ -0,0 +1,61 @@
+package SnakeGamejava;
+
+/**
+ * Set of empty cells as a dense array plus a position index. Add, remove
+ * (by swapping the last element into the hole) and picking a uniformly
+ * random free cell are all O(1) regardless of how full the board is.
+ */
+public final class FreeCells {
+    private final int[] cells;
+    private final int[] position; // index into cells, or -1 when not free
+    private int size;
+
+    public FreeCells(int capacity) {
+        cells = new int[capacity];
+        position = new int[capacity];
+        fill();
+    }
+
+    /** Marks every cell free again. */
+    public void fill() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+            position[i] = i;
+        }
+        size = cells.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int cell) {
+        return position[cell] >= 0;
+    }
+
+    public void add(int cell) {
+        if (position[cell] >= 0) return;
+        cells[size] = cell;
+        position[cell] = size++;
+    }
+
+    public void remove(int cell) {
+        int at = position[cell];
+        if (at < 0) return;
+        int last = cells[--size];
+        cells[at] = last;
+        position[last] = at;
+        position[cell] = -1;
+    }
+
+    /** The free cell at dense index {@code i}, 0 <= i < size(); pick i uniformly for a uniform cell. */
+    public int get(int i) {
+        return cells[i];
+    }
+
+    public void copyFrom(FreeCells other) {
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.position, 0, position, 0, position.length);
+        size = other.size;
+    }
+}
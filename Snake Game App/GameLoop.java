@@ -0,0 +1,148 @@
+package SnakeGamejava;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-timestep game loop on its own thread. Simulation ticks run at a
+ * configurable rate from a {@link System#nanoTime()} accumulator, catching up
+ * after stalls (up to a limit), while frames are requested at display rate
+ * with the fraction of the next tick already elapsed, for interpolation.
+ * Tick lateness and frame-interval jitter are measured over one-second windows.
+ */
+public final class GameLoop {
+    public interface Game {
+        /** Advances the simulation by one tick. Called on the loop thread. */
+        void tick();
+
+        /** Requests a frame; {@code alpha} in [0, 1] is how far into the next tick we are. */
+        void render(double alpha);
+
+        /** False while paused or game over; no ticks run and frames stop. */
+        boolean isActive();
+    }
+
+    private static final int MAX_CATCH_UP = 5;
+    private static final long IDLE_NANOS = 10_000_000L;
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final Game game;
+    private final long frameNanos;
+    private volatile long tickNanos;
+    private volatile boolean stopped;
+    private Thread thread;
+
+    // Published once per window
+    private volatile double tickJitterMillis, maxTickJitterMillis;
+    private volatile double frameJitterMillis, maxFrameJitterMillis;
+    private volatile double measuredTicksPerSecond, measuredFramesPerSecond;
+
+    public GameLoop(Game game, double ticksPerSecond, double framesPerSecond) {
+        this.game = game;
+        this.frameNanos = (long) (1e9 / framesPerSecond);
+        setTicksPerSecond(ticksPerSecond);
+    }
+
+    public void start() {
+        thread = new Thread(this::run, "snake-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        stopped = true;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    public void setTicksPerSecond(double ticksPerSecond) {
+        if (ticksPerSecond <= 0) throw new IllegalArgumentException("ticksPerSecond must be positive");
+        tickNanos = (long) (1e9 / ticksPerSecond);
+    }
+
+    public double ticksPerSecond() {
+        return 1e9 / tickNanos;
+    }
+
+    public double tickJitterMillis() { return tickJitterMillis; }
+    public double maxTickJitterMillis() { return maxTickJitterMillis; }
+    public double frameJitterMillis() { return frameJitterMillis; }
+    public double maxFrameJitterMillis() { return maxFrameJitterMillis; }
+    public double measuredTicksPerSecond() { return measuredTicksPerSecond; }
+    public double measuredFramesPerSecond() { return measuredFramesPerSecond; }
+
+    private void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        long nextFrame = previous;
+        long lastFrame = 0;
+        boolean wasActive = true;
+
+        long windowStart = previous;
+        long ticks = 0, frames = 0, frameGaps = 0;
+        long tickLateSum = 0, tickLateMax = 0;
+        long frameJitterSum = 0, frameJitterMax = 0;
+
+        while (!stopped) {
+            long now = System.nanoTime();
+            long tick = tickNanos;
+
+            if (!game.isActive()) {
+                if (wasActive) game.render(1); // show the pause or game over screen once
+                wasActive = false;
+                accumulator = 0;
+                previous = now;
+                lastFrame = 0;
+                LockSupport.parkNanos(IDLE_NANOS);
+                continue;
+            }
+            wasActive = true;
+
+            accumulator += now - previous;
+            previous = now;
+
+            int steps = 0;
+            while (accumulator >= tick && steps < MAX_CATCH_UP) {
+                long late = accumulator - tick;
+                tickLateSum += late;
+                tickLateMax = Math.max(tickLateMax, late);
+                ticks++;
+                game.tick();
+                accumulator -= tick;
+                steps++;
+                if (!game.isActive()) break;
+            }
+            // Too far behind to catch up: drop the backlog instead of spiralling
+            if (steps == MAX_CATCH_UP) accumulator %= tick;
+
+            if (now >= nextFrame) {
+                if (lastFrame != 0) {
+                    long jitter = Math.abs(now - lastFrame - frameNanos);
+                    frameJitterSum += jitter;
+                    frameJitterMax = Math.max(frameJitterMax, jitter);
+                    frameGaps++;
+                }
+                lastFrame = now;
+                frames++;
+                game.render(Math.min(1.0, (double) accumulator / tick));
+                nextFrame += frameNanos;
+                if (nextFrame < now) nextFrame = now + frameNanos;
+            }
+
+            if (now - windowStart >= WINDOW_NANOS) {
+                double secs = (now - windowStart) / 1e9;
+                tickJitterMillis = ticks == 0 ? 0 : tickLateSum / 1e6 / ticks;
+                maxTickJitterMillis = tickLateMax / 1e6;
+                frameJitterMillis = frameGaps == 0 ? 0 : frameJitterSum / 1e6 / frameGaps;
+                maxFrameJitterMillis = frameJitterMax / 1e6;
+                measuredTicksPerSecond = ticks / secs;
+                measuredFramesPerSecond = frames / secs;
+                windowStart = now;
+                ticks = frames = frameGaps = 0;
+                tickLateSum = tickLateMax = frameJitterSum = frameJitterMax = 0;
+            }
+
+            long nextTick = previous + (tick - accumulator);
+            long sleep = Math.min(nextTick, nextFrame) - System.nanoTime();
+            if (sleep > 0) LockSupport.parkNanos(sleep);
+        }
+    }
+}
@@ -3,32 +3,62 @@ package SnakeGamejava;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.*;
-import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public class GamePanel extends JPanel implements ActionListener {
+public class GamePanel extends JPanel implements GameLoop.Game {
 
     static final int SCREEN_WIDTH = 800;
     static final int SCREEN_HEIGHT = 600;
     static final int UNIT_SIZE = 25;
     static final int GAME_UNITS = (SCREEN_WIDTH * SCREEN_HEIGHT) / (UNIT_SIZE * UNIT_SIZE);
+    static final int COLS = SCREEN_WIDTH / UNIT_SIZE;
+    static final int ROWS = SCREEN_HEIGHT / UNIT_SIZE;
     static final int DELAY = 100;
-
-    final int[] x = new int[GAME_UNITS];
-    final int[] y = new int[GAME_UNITS];
-
-    int bodyParts = 6;
-    int applesEaten = 0;
-    int appleX, appleY;
-
-    char direction = 'R';
-    boolean running = false;
-    boolean paused = false;
-
-    Timer timer;
-    Random random;
+    static final double MIN_TICKS_PER_SECOND = 2;
+    static final double MAX_TICKS_PER_SECOND = 60;
+    static final Font SCORE_FONT = new Font("Ink Free", Font.BOLD, 60);
+    static final Font HIGH_SCORE_FONT = new Font("Ink Free", Font.BOLD, 40);
+    static final Font GAME_OVER_FONT = new Font("Ink Free", Font.BOLD, 100);
+
+    static final String REPLAY_FILE = "snake-replay.bin";
+    static final String HIGH_SCORE_FILE = "highscore.txt";
+    static final int LEADERBOARD_SIZE = 10;
+    static final Font LEADERBOARD_FONT = new Font("Monospaced", Font.BOLD, 16);
+    static final java.time.format.DateTimeFormatter DATE_FORMAT =
+        java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(java.time.ZoneId.systemDefault());
+
+    // All game rules live in the simulation; the panel only drives and draws it
+    final SnakeSimulation sim = new SnakeSimulation(COLS, ROWS, 0);
+    Replay.Recorder recorder;
+    // Key presses go through this queue and are applied at most one per tick
+    final InputQueue input = new InputQueue(16);
+    // 'A' hands the controls to the autopilot; it steers through sim.setDirection like the keys do
+    final SnakeAgent autopilot = new SnakeAutopilot(COLS, ROWS);
+    volatile boolean autopilotOn = false;
+
+    volatile boolean running = false;
+    volatile boolean paused = false;
+
+    // The loop thread ticks while the EDT paints and handles input
+    final Object lock = new Object();
+    GameLoop loop;
+    volatile double alpha;
+    boolean showStats = false;
+    final SnakeRenderer renderer = new SnakeRenderer(COLS, ROWS, UNIT_SIZE);
+    private final Rectangle repaintArea = new Rectangle();
+    // Replays and the leaderboard are written here, never on the loop thread or the EDT
+    final ExecutorService diskWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "snake-disk-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    final Leaderboard leaderboard = Leaderboard.load(Paths.get(HIGH_SCORE_FILE), LEADERBOARD_SIZE, diskWriter);
+    // Rank of the game just finished on the leaderboard, or -1
+    volatile int lastRank = -1;
     JButton pauseButton, restartButton, exitButton;
-    int highScore = 0;
 
     public GamePanel(JFrame frame) {
         this.setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
@@ -37,7 +67,17 @@ public class GamePanel extends JPanel implements ActionListener {
         this.setLayout(null);
         this.addKeyListener(new MyKeyAdapter());
 
-        random = new Random();
+        sim.setListener(new SnakeSimulation.Listener() {
+            @Override
+            public void cellChanged(int cell) {
+                renderer.markDirty(cell);
+            }
+
+            @Override
+            public void appleEaten() {
+                Toolkit.getDefaultToolkit().beep();
+            }
+        });
 
         // Pause Button
         pauseButton = new JButton("⏸ Pause");
@@ -47,10 +87,8 @@ public class GamePanel extends JPanel implements ActionListener {
         pauseButton.addActionListener(
             _ -> {
             if (paused) {
-                timer.start();
                 pauseButton.setText("⏸ Pause");
             } else {
-                timer.stop();
                 pauseButton.setText("▶ Resume");
             }
             paused = !paused;
@@ -63,19 +101,12 @@ public class GamePanel extends JPanel implements ActionListener {
         this.add(restartButton);
 
         restartButton.addActionListener(_ -> {
-            applesEaten = 0;
-            bodyParts = 6;
-            direction = 'R';
-            paused = false;
-            for (int i = 0; i < x.length; i++) {
-                x[i] = 0;
-                y[i] = 0;
+            synchronized (lock) {
+                paused = false;
+                newGame();
             }
-            newApple();
-            running = true;
             restartButton.setVisible(false);
             pauseButton.setText("⏸ Pause");
-            timer.start();
         });
 
         // Exit Button
@@ -89,153 +120,175 @@ public class GamePanel extends JPanel implements ActionListener {
     }
 
     public void startGame() {
-        newApple();
-        running = true;
-        timer = new Timer(DELAY, this);
-        timer.start();
-    }
-
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        draw(g);
-    }
-
-    public void draw(Graphics g) {
-        if (running) {
-            // Apple
-            g.setColor(Color.red);
-            g.fillOval(appleX, appleY, UNIT_SIZE, UNIT_SIZE);
-
-            // Snake
-            for (int i = 0; i < bodyParts; i++) {
-                if (i == 0) {
-                    g.setColor(Color.green);
-                } else {
-                    g.setColor(new Color(45, 180, 0));
-                }
-                g.fillRect(x[i], y[i], UNIT_SIZE, UNIT_SIZE);
-            }
-
-            // Score
-            g.setColor(Color.white);
-            g.setFont(new Font("Ink Free", Font.BOLD, 30));
-            g.drawString("Score: " + applesEaten, 460, 45);
-        } else {
-            gameOver(g);
-        }
+        newGame();
+        loop = new GameLoop(this, 1000.0 / DELAY, displayRate());
+        loop.start();
     }
 
-    public void newApple() {
-        appleX = random.nextInt(SCREEN_WIDTH / UNIT_SIZE) * UNIT_SIZE;
-        appleY = random.nextInt(SCREEN_HEIGHT / UNIT_SIZE) * UNIT_SIZE;
+    // Caller holds the lock
+    private void newGame() {
+        sim.reset(System.nanoTime());
+        input.clear();
+        recorder = new Replay.Recorder(sim);
+        renderer.invalidate();
+        running = true;
     }
 
-    public void move() {
-        for (int i = bodyParts; i > 0; i--) {
-            x[i] = x[i - 1];
-            y[i] = y[i - 1];
-        }
-
-        switch (direction) {
-            case 'U' -> y[0] -= UNIT_SIZE;
-            case 'D' -> y[0] += UNIT_SIZE;
-            case 'L' -> x[0] -= UNIT_SIZE;
-            case 'R' -> x[0] += UNIT_SIZE;
+    static double displayRate() {
+        try {
+            int hz = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            return hz > 0 ? hz : 60;
+        } catch (HeadlessException e) {
+            return 60;
         }
     }
 
-    public void checkApple() {
-        if (x[0] == appleX && y[0] == appleY) {
-            bodyParts++;
-            applesEaten++;
-            Toolkit.getDefaultToolkit().beep();
-            newApple();
-        }
+    public void paintComponent(Graphics g) {
+        // While playing, the renderer's back buffer covers the whole panel
+        if (!running) super.paintComponent(g);
+        draw(g);
     }
 
-    public void checkCollisions() {
-        // Body
-        for (int i = bodyParts; i > 0; i--) {
-            if (x[0] == x[i] && y[0] == y[i]) {
-                running = false;
-                break;
+    public void draw(Graphics g) {
+        synchronized (lock) {
+            if (running) {
+                renderer.paint(g, this, sim.body(), sim.apple(), sim.applesEaten(), sim.prevHead(), sim.prevTail(), alpha,
+                    showStats ? statsLine() : null);
+            } else {
+                renderer.invalidate();
+                gameOver(g);
             }
         }
+    }
 
-        // Walls
-        if (x[0] < 0 || x[0] >= SCREEN_WIDTH || y[0] < 0 || y[0] >= SCREEN_HEIGHT) {
-            running = false;
-        }
-
-        if (!running) timer.stop();
+    private String statsLine() {
+        return String.format("tick %.1f/%.1fHz jit %.2f/%.2fms | fps %.0f jit %.2f/%.2fms"
+                + " | input p50 %.0f p99 %.0f max %.1fms drop %d",
+            loop.measuredTicksPerSecond(), loop.ticksPerSecond(), loop.tickJitterMillis(),
+            loop.maxTickJitterMillis(), loop.measuredFramesPerSecond(), loop.frameJitterMillis(),
+            loop.maxFrameJitterMillis(), input.latencyPercentileMillis(50), input.latencyPercentileMillis(99),
+            input.maxLatencyMillis(), input.dropped());
     }
 
     public void gameOver(Graphics g) {
         setBackground(Color.darkGray);
 
         g.setColor(Color.red);
-        g.setFont(new Font("Ink Free", Font.BOLD, 60));
-        g.drawString("Score: " + applesEaten, 60, 100);
-
-        readHighScore();
-        if (applesEaten > highScore) {
-            highScore = applesEaten;
-            saveHighScore();
-        }
+        g.setFont(SCORE_FONT);
+        g.drawString("Score: " + sim.applesEaten(), 60, 100);
 
+        // Everything here comes from memory; the leaderboard was updated when the game ended
         g.setColor(Color.cyan);
-        g.setFont(new Font("Ink Free", Font.BOLD, 40));
-        g.drawString("High Score: " + highScore, 60, 160);
+        g.setFont(HIGH_SCORE_FONT);
+        g.drawString("High Score: " + leaderboard.best(), 60, 160);
 
         g.setColor(Color.orange);
-        g.setFont(new Font("Ink Free", Font.BOLD, 100));
-        g.drawString("Game Over", SCREEN_WIDTH / 2 - 300, SCREEN_HEIGHT / 2);
+        g.setFont(GAME_OVER_FONT);
+        g.drawString(sim.isWon() ? "You Win!" : "Game Over", SCREEN_WIDTH / 2 - 300, SCREEN_HEIGHT / 2);
+
+        g.setFont(LEADERBOARD_FONT);
+        Leaderboard.Entry[] top = leaderboard.entries();
+        for (int i = 0; i < Math.min(5, top.length); i++) {
+            g.setColor(i == lastRank ? Color.yellow : Color.white);
+            String when = top[i].hasTime()
+                ? DATE_FORMAT.format(java.time.Instant.ofEpochMilli(top[i].epochMillis()))
+                : "";
+            g.drawString(String.format("%d. %5d  %s", i + 1, top[i].score(), when), 60, 380 + i * 24);
+        }
 
         restartButton.setVisible(true);
     }
 
-    public void readHighScore() {
-        try (BufferedReader br = new BufferedReader(new FileReader("highscore.txt"))) {
-            highScore = Integer.parseInt(br.readLine());
-        } catch (Exception e) {
-            highScore = 0;
+    @Override
+    public void tick() {
+        synchronized (lock) {
+            if (running && !paused) {
+                if (autopilotOn) {
+                    input.clear();
+                    sim.setDirection(autopilot.decide(sim));
+                } else {
+                    applyInput();
+                }
+                recorder.beforeStep(sim);
+                sim.step();
+                if (!sim.isRunning()) {
+                    running = false;
+                    lastRank = leaderboard.submit(sim.applesEaten(), System.currentTimeMillis());
+                    saveReplay(recorder.finish(sim.tick()));
+                }
+            }
         }
     }
 
-    public void saveHighScore() {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter("highscore.txt"))) {
-            bw.write(String.valueOf(highScore));
-        } catch (Exception e) {
-            e.printStackTrace();
+    // Skip presses that would reverse or not change the direction actually
+    // applied last tick, and take the first one that is a real turn
+    private void applyInput() {
+        char current = sim.direction();
+        while (!input.isEmpty()) {
+            char d = input.peekDirection();
+            long pressedAt = input.peekTime();
+            input.remove();
+            if (d != current && d != SnakeSimulation.opposite(current)) {
+                sim.setDirection(d);
+                input.recordApplied(pressedAt, System.nanoTime());
+                return;
+            }
         }
     }
 
+    private void saveReplay(Replay replay) {
+        diskWriter.execute(() -> {
+            try {
+                replay.write(Paths.get(REPLAY_FILE));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
     @Override
-    public void actionPerformed(ActionEvent e) {
-        if (running) {
-            move();
-            checkApple();
-            checkCollisions();
+    public void render(double alpha) {
+        this.alpha = alpha;
+        Rectangle area;
+        synchronized (lock) {
+            area = running
+                ? renderer.pendingBounds(sim.prevHead(), sim.body().headCell(), sim.prevTail(), sim.body().tailCell(),
+                    sim.applesEaten(), showStats, repaintArea)
+                : null;
         }
-        repaint();
+        if (area == null) repaint();
+        else if (!area.isEmpty()) repaint(area.x, area.y, area.width, area.height);
+    }
+
+    @Override
+    public boolean isActive() {
+        return running && !paused;
+    }
+
+    public void setTicksPerSecond(double ticksPerSecond) {
+        loop.setTicksPerSecond(Math.max(MIN_TICKS_PER_SECOND, Math.min(MAX_TICKS_PER_SECOND, ticksPerSecond)));
     }
 
     public class MyKeyAdapter extends KeyAdapter {
         public void keyPressed(KeyEvent e) {
+            long now = System.nanoTime();
             switch (e.getKeyCode()) {
-                case KeyEvent.VK_LEFT -> {
-                    if (direction != 'R') direction = 'L';
-                }
-                case KeyEvent.VK_RIGHT -> {
-                    if (direction != 'L') direction = 'R';
-                }
-                case KeyEvent.VK_UP -> {
-                    if (direction != 'D') direction = 'U';
-                }
-                case KeyEvent.VK_DOWN -> {
-                    if (direction != 'U') direction = 'D';
-                }
+                case KeyEvent.VK_LEFT -> input.offer('L', now);
+                case KeyEvent.VK_RIGHT -> input.offer('R', now);
+                case KeyEvent.VK_UP -> input.offer('U', now);
+                case KeyEvent.VK_DOWN -> input.offer('D', now);
                 case KeyEvent.VK_ESCAPE -> System.exit(0);
+                case KeyEvent.VK_A -> autopilotOn = !autopilotOn;
+                case KeyEvent.VK_EQUALS, KeyEvent.VK_PLUS, KeyEvent.VK_ADD -> setTicksPerSecond(loop.ticksPerSecond() + 1);
+                case KeyEvent.VK_MINUS, KeyEvent.VK_SUBTRACT -> setTicksPerSecond(loop.ticksPerSecond() - 1);
+                case KeyEvent.VK_F3 -> {
+                    synchronized (lock) {
+                        showStats = !showStats;
+                        renderer.invalidate();
+                    }
+                    repaint();
+                }
             }
         }
     }
@@ -0,0 +1,29 @@
+package SnakeGamejava;
+
+/** Heads straight for the apple, only avoiding moves that die immediately. */
+public final class GreedyAgent implements SnakeAgent {
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+
+    @Override
+    public String name() {
+        return "greedy";
+    }
+
+    @Override
+    public char decide(SnakeSimulation sim) {
+        int apple = sim.apple(), cols = sim.cols();
+        char best = sim.direction();
+        int bestDistance = Integer.MAX_VALUE;
+        for (char d : DIRECTIONS) {
+            if (!SnakeAgents.isSafe(sim, d)) continue;
+            int cell = SnakeAgents.target(sim, d);
+            int distance = apple < 0 ? 0
+                : Math.abs(cell / cols - apple / cols) + Math.abs(cell % cols - apple % cols);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = d;
+            }
+        }
+        return best;
+    }
+}
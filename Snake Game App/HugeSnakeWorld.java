@@ -0,0 +1,241 @@
+package SnakeGamejava;
+
+/**
+ * The Snake rules on a world far larger than the window, up to billions of
+ * cells. Occupancy lives in a {@link ChunkedGrid}, the body in a ring of
+ * packed {@code y * cols + x} longs that grows with the snake, and a handful
+ * of apples are kept near the head. Nothing is sized by the world, so memory
+ * follows the snake rather than the nominal grid. Seeded like
+ * {@link SnakeSimulation}.
+ */
+public final class HugeSnakeWorld {
+    public static final int START_LENGTH = SnakeSimulation.START_LENGTH;
+    public static final int APPLES = 8;
+    /** Apples spawn within this many cells of the head, so there is always food on or near the screen. */
+    public static final int APPLE_RADIUS = 24;
+    private static final int SPAWN_TRIES = 32;
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+
+    private final int cols, rows;
+    private final ChunkedGrid grid;
+
+    // Body ring, head at ring[head], tail length - 1 slots behind it
+    private long[] ring = new long[64];
+    private int head;
+    private int length;
+
+    private final long[] apples = new long[APPLES]; // -1 when not placed
+
+    private long rng;
+    private long tick;
+    private char direction;
+    private int bodyParts;
+    private int applesEaten;
+    private boolean running;
+    private long prevHead, prevTail;
+
+    public HugeSnakeWorld(int cols, int rows, long seed) {
+        if ((long) cols * rows < 2 * START_LENGTH) throw new IllegalArgumentException("World too small");
+        this.cols = cols;
+        this.rows = rows;
+        grid = new ChunkedGrid(cols, rows);
+        reset(seed);
+    }
+
+    public void reset(long seed) {
+        while (length > 0) removeTail();
+        rng = seed;
+        tick = 0;
+        direction = SnakeSimulation.START_DIRECTION;
+        bodyParts = START_LENGTH;
+        applesEaten = 0;
+        long start = pack(cols / 2, rows / 2);
+        head = 0;
+        addHead(start);
+        prevHead = prevTail = start;
+        running = true;
+        for (int i = 0; i < APPLES; i++) apples[i] = -1;
+        for (int i = 0; i < APPLES; i++) apples[i] = spawnApple();
+    }
+
+    /** Turns the snake unless that would reverse it onto itself. */
+    public boolean setDirection(char d) {
+        if (d == SnakeSimulation.opposite(direction)) return false;
+        direction = d;
+        return true;
+    }
+
+    public void step() {
+        if (!running) return;
+        prevHead = headCell();
+        prevTail = tailCell();
+
+        int x = x(prevHead), y = y(prevHead);
+        switch (direction) {
+            case 'U' -> y--;
+            case 'D' -> y++;
+            case 'L' -> x--;
+            case 'R' -> x++;
+        }
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            running = false;
+            tick++;
+            return;
+        }
+        // As in SnakeSimulation, the tail has not moved yet, so the cell it is leaving still counts
+        boolean hitSelf = grid.get(x, y);
+        long cell = pack(x, y);
+        addHead(cell);
+
+        for (int i = 0; i < APPLES; i++) {
+            if (apples[i] == cell) {
+                bodyParts++;
+                applesEaten++;
+                apples[i] = spawnApple();
+            } else if (apples[i] < 0) {
+                apples[i] = spawnApple(); // a crowded area earlier; try again
+            }
+        }
+
+        if (hitSelf) running = false;
+        while (length > bodyParts) removeTail();
+        tick++;
+    }
+
+    // Uniform over the free cells around the head by rejection sampling; the
+    // snake covers a small part of that square, so a few tries nearly always do
+    private long spawnApple() {
+        int hx = x(headCell()), hy = y(headCell());
+        int x0 = Math.max(0, hx - APPLE_RADIUS), x1 = Math.min(cols - 1, hx + APPLE_RADIUS);
+        int y0 = Math.max(0, hy - APPLE_RADIUS), y1 = Math.min(rows - 1, hy + APPLE_RADIUS);
+        for (int t = 0; t < SPAWN_TRIES; t++) {
+            int x = x0 + nextInt(x1 - x0 + 1), y = y0 + nextInt(y1 - y0 + 1);
+            long cell = pack(x, y);
+            if (!grid.get(x, y) && !isApple(cell)) return cell;
+        }
+        return -1;
+    }
+
+    public boolean isApple(long cell) {
+        for (long a : apples) if (a == cell) return true;
+        return false;
+    }
+
+    private void addHead(long cell) {
+        if (length == ring.length) grow();
+        head = head + 1 == ring.length ? 0 : head + 1;
+        ring[head] = cell;
+        length++;
+        grid.set(x(cell), y(cell));
+    }
+
+    private void removeTail() {
+        long cell = tailCell();
+        length--;
+        grid.clear(x(cell), y(cell));
+    }
+
+    private void grow() {
+        long[] bigger = new long[ring.length * 2];
+        // Unroll so the tail sits at slot 0 and the head at length - 1
+        for (int i = 0; i < length; i++) bigger[i] = get(length - 1 - i);
+        ring = bigger;
+        head = length - 1;
+    }
+
+    /** Segment {@code i} counted from the head (0) to the tail (length - 1). */
+    public long get(int i) {
+        int slot = head - i;
+        return ring[slot < 0 ? slot + ring.length : slot];
+    }
+
+    private int nextInt(int bound) {
+        long z = (rng += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) (((z >>> 33) * bound) >>> 31);
+    }
+
+    public long pack(int x, int y) { return (long) y * cols + x; }
+    public int x(long cell) { return (int) (cell % cols); }
+    public int y(long cell) { return (int) (cell / cols); }
+
+    public int cols() { return cols; }
+    public int rows() { return rows; }
+    public ChunkedGrid grid() { return grid; }
+    public long headCell() { return ring[head]; }
+    public long tailCell() { return get(length - 1); }
+    public int length() { return length; }
+    public long tick() { return tick; }
+    public char direction() { return direction; }
+    public int applesEaten() { return applesEaten; }
+    public boolean isRunning() { return running; }
+    public long prevHead() { return prevHead; }
+    public long prevTail() { return prevTail; }
+
+    /** Apple {@code i} as a packed cell, or -1; 0 <= i < {@link #APPLES}. */
+    public long apple(int i) { return apples[i]; }
+
+    /** Approximate heap held by the body and the grid, in bytes. */
+    public long bytesUsed() {
+        return grid.bytesUsed() + 16 + ring.length * 8L;
+    }
+
+    // Greedy step towards the closest apple that does not die at once; drives the headless check
+    private char towardsNearestApple() {
+        int hx = x(headCell()), hy = y(headCell());
+        long target = -1;
+        int best = Integer.MAX_VALUE;
+        for (long a : apples) {
+            if (a < 0) continue;
+            int d = Math.abs(x(a) - hx) + Math.abs(y(a) - hy);
+            if (d < best) {
+                best = d;
+                target = a;
+            }
+        }
+        char choice = direction;
+        int bestDistance = Integer.MAX_VALUE;
+        for (char d : DIRECTIONS) {
+            if (d == SnakeSimulation.opposite(direction)) continue;
+            int x = hx + (d == 'L' ? -1 : d == 'R' ? 1 : 0), y = hy + (d == 'U' ? -1 : d == 'D' ? 1 : 0);
+            if (x < 0 || x >= cols || y < 0 || y >= rows || grid.get(x, y)) continue;
+            int dist = target < 0 ? 0 : Math.abs(x(target) - x) + Math.abs(y(target) - y);
+            if (dist < bestDistance) {
+                bestDistance = dist;
+                choice = d;
+            }
+        }
+        return choice;
+    }
+
+    /**
+     * Headless memory check: a greedy snake eats its way across a huge world and the
+     * memory in use is compared with what flat per-cell arrays would need.
+     */
+    public static void main(String[] args) {
+        int cols = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        long ticks = args.length > 2 ? Long.parseLong(args[2]) : 5_000_000L;
+
+        HugeSnakeWorld world = new HugeSnakeWorld(cols, rows, 1);
+        long games = 1, start = System.nanoTime();
+        int maxLength = 0, maxChunks = 0;
+        for (long t = 0; t < ticks; t++) {
+            if (!world.isRunning()) world.reset(++games);
+            world.setDirection(world.towardsNearestApple());
+            world.step();
+            maxLength = Math.max(maxLength, world.length());
+            maxChunks = Math.max(maxChunks, world.grid().allocatedChunks());
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        long cells = (long) cols * rows;
+        // SnakeBody ring plus FreeCells' two int arrays plus occupancy bits
+        long flat = cells * 12 + cells / 8;
+        System.out.printf("%,d x %,d world (%,d cells), %,d ticks in %.2fs (%,.0f ticks/s), %d games%n",
+            cols, rows, cells, ticks, secs, ticks / secs, games);
+        System.out.printf("longest snake %,d, at most %d chunks, now %,d KB in use vs %,d MB for flat arrays%n",
+            maxLength, maxChunks, world.bytesUsed() / 1024, flat >> 20);
+    }
+}
@@ -0,0 +1,212 @@
+package SnakeGamejava;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+
+/**
+ * Play area for {@link HugeSnakeWorld}: a camera follows the interpolated
+ * head and only the cells inside the viewport are visited, a row mask per
+ * visible chunk at a time, so a frame costs the same on any world size.
+ * Start with {@code java SnakeGamejava.SnakeGame huge [cols] [rows]}.
+ */
+public class HugeWorldPanel extends JPanel implements GameLoop.Game {
+    static final int UNIT_SIZE = 20;
+    static final Color WALL = new Color(40, 40, 40);
+    static final Font HUD_FONT = new Font("Monospaced", Font.PLAIN, 12);
+    static final Font GAME_OVER_FONT = new Font("Ink Free", Font.BOLD, 100);
+
+    final HugeSnakeWorld world;
+    final InputQueue input = new InputQueue(16);
+    final Object lock = new Object();
+    GameLoop loop;
+    volatile boolean running;
+    volatile double alpha;
+    boolean showStats = false;
+    final JButton restartButton;
+
+    // Smoothed cost of drawing the world, and cells visited for it, last frame
+    private double paintMicros;
+    private int visibleCells;
+
+    public HugeWorldPanel(int cols, int rows) {
+        world = new HugeSnakeWorld(cols, rows, System.nanoTime());
+        this.setPreferredSize(new Dimension(GamePanel.SCREEN_WIDTH, GamePanel.SCREEN_HEIGHT));
+        this.setBackground(WALL);
+        this.setFocusable(true);
+        this.setLayout(null);
+        this.addKeyListener(new MyKeyAdapter());
+
+        restartButton = new JButton("🔁 Restart");
+        restartButton.setBounds(20, 20, 120, 30);
+        restartButton.setVisible(false);
+        restartButton.setFocusable(false);
+        this.add(restartButton);
+        restartButton.addActionListener(_ -> {
+            synchronized (lock) {
+                world.reset(System.nanoTime());
+                input.clear();
+                running = true;
+            }
+            restartButton.setVisible(false);
+        });
+
+        running = true;
+        loop = new GameLoop(this, 1000.0 / GamePanel.DELAY, GamePanel.displayRate());
+        loop.start();
+    }
+
+    @Override
+    public void tick() {
+        synchronized (lock) {
+            if (!running) return;
+            applyInput();
+            world.step();
+            if (!world.isRunning()) {
+                running = false;
+                // Swing state changes on the EDT, not in paint
+                SwingUtilities.invokeLater(() -> restartButton.setVisible(!running));
+            }
+        }
+    }
+
+    // Same rule as GamePanel: the first queued press that is a real turn wins
+    private void applyInput() {
+        char current = world.direction();
+        while (!input.isEmpty()) {
+            char d = input.peekDirection();
+            long pressedAt = input.peekTime();
+            input.remove();
+            if (d != current && d != SnakeSimulation.opposite(current)) {
+                world.setDirection(d);
+                input.recordApplied(pressedAt, System.nanoTime());
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void render(double alpha) {
+        this.alpha = alpha;
+        // The camera moves every frame, so there is no dirty region to track
+        repaint();
+    }
+
+    @Override
+    public boolean isActive() {
+        return running;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        synchronized (lock) {
+            long start = System.nanoTime();
+            drawWorld(g, running ? alpha : 1);
+            paintMicros = paintMicros * 0.9 + (System.nanoTime() - start) / 1e3 * 0.1;
+            drawHud(g);
+            if (!running) {
+                g.setColor(Color.orange);
+                g.setFont(GAME_OVER_FONT);
+                g.drawString("Game Over", getWidth() / 2 - 250, getHeight() / 2);
+            }
+        }
+    }
+
+    private void drawWorld(Graphics g, double a) {
+        int w = getWidth(), h = getHeight();
+        int cols = world.cols(), rows = world.rows();
+        long head = world.headCell(), prev = world.prevHead();
+        double headX = lerp(world.x(prev), world.x(head), a), headY = lerp(world.y(prev), world.y(head), a);
+
+        // Camera: keep the head centred, stop at the world's edges, centre a world smaller than the view
+        long camX = camera(headX, cols, w), camY = camera(headY, rows, h);
+
+        int c0 = (int) Math.max(0, Math.floorDiv(camX, UNIT_SIZE));
+        int c1 = (int) Math.min(cols - 1, Math.floorDiv(camX + w - 1, UNIT_SIZE));
+        int r0 = (int) Math.max(0, Math.floorDiv(camY, UNIT_SIZE));
+        int r1 = (int) Math.min(rows - 1, Math.floorDiv(camY + h - 1, UNIT_SIZE));
+        visibleCells = Math.max(0, c1 - c0 + 1) * Math.max(0, r1 - r0 + 1);
+
+        g.setColor(SnakeRenderer.BACKGROUND);
+        g.fillRect((int) (c0 * (long) UNIT_SIZE - camX), (int) (r0 * (long) UNIT_SIZE - camY),
+            (c1 - c0 + 1) * UNIT_SIZE, (r1 - r0 + 1) * UNIT_SIZE);
+
+        // Body: one row mask per visible chunk column, culled to [c0, c1]
+        ChunkedGrid grid = world.grid();
+        int headCol = world.x(head), headRow = world.y(head);
+        g.setColor(SnakeRenderer.BODY);
+        for (int y = r0; y <= r1; y++) {
+            int py = (int) (y * (long) UNIT_SIZE - camY);
+            for (int cx = c0 >>> ChunkedGrid.SHIFT; cx <= c1 >>> ChunkedGrid.SHIFT; cx++) {
+                long bits = grid.rowBits(cx, y);
+                if (bits == 0) continue;
+                int base = cx << ChunkedGrid.SHIFT;
+                if (base < c0) bits &= -1L << (c0 - base);
+                if (c1 - base < 63) bits &= (1L << (c1 - base + 1)) - 1;
+                while (bits != 0) {
+                    int x = base + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (x == headCol && y == headRow) continue; // drawn below, interpolated
+                    g.fillRect((int) (x * (long) UNIT_SIZE - camX), py, UNIT_SIZE, UNIT_SIZE);
+                }
+            }
+        }
+
+        g.setColor(SnakeRenderer.APPLE);
+        for (int i = 0; i < HugeSnakeWorld.APPLES; i++) {
+            long apple = world.apple(i);
+            if (apple < 0) continue;
+            int x = world.x(apple), y = world.y(apple);
+            if (x < c0 || x > c1 || y < r0 || y > r1) continue;
+            g.fillOval((int) (x * (long) UNIT_SIZE - camX), (int) (y * (long) UNIT_SIZE - camY), UNIT_SIZE, UNIT_SIZE);
+        }
+
+        g.setColor(SnakeRenderer.HEAD);
+        g.fillRect((int) Math.round(headX * UNIT_SIZE - camX), (int) Math.round(headY * UNIT_SIZE - camY),
+            UNIT_SIZE, UNIT_SIZE);
+    }
+
+    private static long camera(double headCells, int worldCells, int viewPixels) {
+        long worldPixels = (long) worldCells * UNIT_SIZE;
+        if (worldPixels <= viewPixels) return -(viewPixels - worldPixels) / 2;
+        long centred = Math.round(headCells * UNIT_SIZE + UNIT_SIZE / 2.0) - viewPixels / 2;
+        return Math.max(0, Math.min(worldPixels - viewPixels, centred));
+    }
+
+    private void drawHud(Graphics g) {
+        g.setColor(Color.white);
+        g.setFont(HUD_FONT);
+        long head = world.headCell();
+        g.drawString(String.format("Score %d  length %d  at (%d, %d) of %,d x %,d",
+            world.applesEaten(), world.length(), world.x(head), world.y(head), world.cols(), world.rows()),
+            160, 40);
+        if (showStats) {
+            g.drawString(String.format("paint %.0fus for %d cells | %d chunks, %,d KB | tick %.1fHz fps %.0f",
+                paintMicros, visibleCells, world.grid().allocatedChunks(), world.bytesUsed() / 1024,
+                loop.measuredTicksPerSecond(), loop.measuredFramesPerSecond()), 10, getHeight() - 10);
+        }
+    }
+
+    private static double lerp(int from, int to, double a) {
+        return from + (to - from) * a;
+    }
+
+    public class MyKeyAdapter extends KeyAdapter {
+        public void keyPressed(KeyEvent e) {
+            long now = System.nanoTime();
+            switch (e.getKeyCode()) {
+                case KeyEvent.VK_LEFT -> input.offer('L', now);
+                case KeyEvent.VK_RIGHT -> input.offer('R', now);
+                case KeyEvent.VK_UP -> input.offer('U', now);
+                case KeyEvent.VK_DOWN -> input.offer('D', now);
+                case KeyEvent.VK_ESCAPE -> System.exit(0);
+                case KeyEvent.VK_F3 -> {
+                    synchronized (lock) {
+                        showStats = !showStats;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package SnakeGamejava;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer/single-consumer queue of timestamped direction
+ * presses. The key listener offers without locking; the tick polls. Slots are
+ * written before the producer index is published with a release store, and
+ * the consumer reads the index with an acquire load, so no locks are needed.
+ * When full, the newest press is dropped.
+ *
+ * The consumer side also keeps a histogram of press-to-apply latency.
+ */
+public final class InputQueue {
+    private static final int LATENCY_BUCKETS = 500; // 1 ms each, last one is overflow
+
+    private final int mask;
+    private final char[] directions;
+    private final long[] times;
+    private final AtomicLong head = new AtomicLong(); // next slot to read, written by consumer
+    private final AtomicLong tail = new AtomicLong(); // next slot to write, written by producer
+    private volatile long dropped;
+
+    private final int[] latency = new int[LATENCY_BUCKETS];
+    private long applied;
+    private long latencySumNanos;
+    private long latencyMaxNanos;
+
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        mask = size - 1;
+        directions = new char[size];
+        times = new long[size];
+    }
+
+    // ---- producer ----
+
+    public boolean offer(char direction, long nanoTime) {
+        long t = tail.get();
+        if (t - head.getAcquire() > mask) {
+            dropped++;
+            return false;
+        }
+        int slot = (int) t & mask;
+        directions[slot] = direction;
+        times[slot] = nanoTime;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    // ---- consumer ----
+
+    public boolean isEmpty() {
+        return head.get() == tail.getAcquire();
+    }
+
+    public char peekDirection() {
+        return directions[(int) head.get() & mask];
+    }
+
+    public long peekTime() {
+        return times[(int) head.get() & mask];
+    }
+
+    public void remove() {
+        head.setRelease(head.get() + 1);
+    }
+
+    public void clear() {
+        head.setRelease(tail.getAcquire());
+    }
+
+    public void recordApplied(long pressedAt, long now) {
+        long nanos = Math.max(0, now - pressedAt);
+        applied++;
+        latencySumNanos += nanos;
+        latencyMaxNanos = Math.max(latencyMaxNanos, nanos);
+        latency[(int) Math.min(LATENCY_BUCKETS - 1, nanos / 1_000_000)]++;
+    }
+
+    public long applied() {
+        return applied;
+    }
+
+    public long dropped() {
+        return dropped;
+    }
+
+    public double meanLatencyMillis() {
+        return applied == 0 ? 0 : latencySumNanos / 1e6 / applied;
+    }
+
+    public double maxLatencyMillis() {
+        return latencyMaxNanos / 1e6;
+    }
+
+    /** Upper bound of the 1 ms bucket holding the given percentile. */
+    public double latencyPercentileMillis(double p) {
+        if (applied == 0) return 0;
+        long rank = (long) Math.ceil(p / 100 * applied);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += latency[i];
+            if (seen >= rank) return i + 1;
+        }
+        return LATENCY_BUCKETS;
+    }
+
+    public void resetStats() {
+        Arrays.fill(latency, 0);
+        applied = 0;
+        latencySumNanos = 0;
+        latencyMaxNanos = 0;
+    }
+}
@@ -0,0 +1,153 @@
+package SnakeGamejava;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Top-N scores with the time they were set, read from disk once and kept in
+ * memory; readers never touch the file. Updates are written on a background
+ * executor to a temporary file that is synced and then renamed over the real
+ * one, so a crash leaves either the old or the new leaderboard, never a
+ * partial one. Bursts of updates collapse into a single write of the latest.
+ *
+ * <p>File format: one {@code score<TAB>ISO-8601 instant} line per entry, best
+ * first; {@code #} lines are comments. The old single-number high score file
+ * is read as one entry with no time.
+ */
+public final class Leaderboard {
+    public static final class Entry {
+        private final int score;
+        private final long epochMillis;
+
+        Entry(int score, long epochMillis) {
+            this.score = score;
+            this.epochMillis = epochMillis;
+        }
+
+        public int score() { return score; }
+        public long epochMillis() { return epochMillis; }
+
+        /** False for a score carried over from the old file, which had no times. */
+        public boolean hasTime() { return epochMillis > 0; }
+    }
+
+    private final Path file;
+    private final int capacity;
+    private final Executor writer;
+    private volatile Entry[] entries;
+    private final AtomicReference<Entry[]> unwritten = new AtomicReference<>();
+
+    private Leaderboard(Path file, int capacity, Executor writer, Entry[] entries) {
+        this.file = file;
+        this.capacity = capacity;
+        this.writer = writer;
+        this.entries = entries;
+    }
+
+    /** Reads {@code file} if it exists; unreadable lines are skipped rather than failing the game. */
+    public static Leaderboard load(Path file, int capacity, Executor writer) {
+        Entry[] entries = new Entry[0];
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                try {
+                    String[] parts = line.split("\\s+");
+                    int score = Integer.parseInt(parts[0]);
+                    long time = parts.length > 1 && !parts[1].equals("-") ? Instant.parse(parts[1]).toEpochMilli() : 0;
+                    entries = insert(entries, new Entry(score, time), capacity);
+                } catch (RuntimeException e) {
+                    // skip the damaged line, keep the rest
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // first run
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return new Leaderboard(file, capacity, writer, entries);
+    }
+
+    /** Best first. */
+    public Entry[] entries() {
+        return entries.clone();
+    }
+
+    public int best() {
+        Entry[] e = entries;
+        return e.length == 0 ? 0 : e[0].score();
+    }
+
+    /**
+     * Records a finished game. Returns its rank (0 = best) if it made the
+     * board, else -1; in that case nothing is written.
+     */
+    public synchronized int submit(int score, long epochMillis) {
+        Entry entry = new Entry(score, epochMillis);
+        Entry[] updated = insert(entries, entry, capacity);
+        int rank = -1;
+        for (int i = 0; i < updated.length; i++) if (updated[i] == entry) rank = i;
+        if (rank < 0) return -1;
+        entries = updated;
+        if (unwritten.getAndSet(updated) == null) writer.execute(this::flush);
+        return rank;
+    }
+
+    private void flush() {
+        Entry[] snapshot = unwritten.getAndSet(null);
+        if (snapshot == null) return;
+        try {
+            write(snapshot);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void write(Entry[] snapshot) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+            out.write("# Snake leaderboard: score, time set (UTC)\n");
+            for (Entry e : snapshot) {
+                out.write(e.score() + "\t" + (e.hasTime() ? Instant.ofEpochMilli(e.epochMillis()).toString() : "-") + "\n");
+            }
+            out.flush();
+            // Data must be on disk before the rename makes it the live file
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Equal scores keep the older entry first
+    private static Entry[] insert(Entry[] entries, Entry entry, int capacity) {
+        int at = 0;
+        while (at < entries.length && entries[at].score() >= entry.score()) at++;
+        if (at >= capacity) return entries;
+        int size = Math.min(capacity, entries.length + 1);
+        Entry[] out = new Entry[size];
+        System.arraycopy(entries, 0, out, 0, at);
+        out[at] = entry;
+        System.arraycopy(entries, at, out, at + 1, size - at - 1);
+        return out;
+    }
+}
@@ -0,0 +1,27 @@
+package SnakeGamejava;
+
+import java.util.SplittableRandom;
+
+/** Picks a random move that does not die immediately; a baseline for comparisons. */
+public final class RandomAgent implements SnakeAgent {
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+
+    private final SplittableRandom random;
+    private final char[] safe = new char[4];
+
+    public RandomAgent(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public String name() {
+        return "random";
+    }
+
+    @Override
+    public char decide(SnakeSimulation sim) {
+        int n = 0;
+        for (char d : DIRECTIONS) if (SnakeAgents.isSafe(sim, d)) safe[n++] = d;
+        return n == 0 ? sim.direction() : safe[random.nextInt(n)];
+    }
+}
@@ -0,0 +1,161 @@
+package SnakeGamejava;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * A recorded game: grid size, seed, length in ticks and the direction changes
+ * with the tick they were applied on. Since {@link SnakeSimulation} is
+ * deterministic that is enough to reproduce every frame.
+ *
+ * <p>File layout: magic "SNKR", version byte, then varints for cols, rows,
+ * total ticks and event count, the 8-byte seed, and one varint per event
+ * holding {@code (ticksSincePreviousEvent << 2) | direction}.
+ */
+public final class Replay {
+    private static final int MAGIC = 0x534E4B52; // "SNKR"
+    private static final int VERSION = 1;
+    private static final String DIRECTIONS = "UDLR";
+
+    final int cols, rows;
+    final long seed;
+    final long length;
+    final long[] ticks;
+    final char[] directions;
+
+    Replay(int cols, int rows, long seed, long length, long[] ticks, char[] directions) {
+        this.cols = cols;
+        this.rows = rows;
+        this.seed = seed;
+        this.length = length;
+        this.ticks = ticks;
+        this.directions = directions;
+    }
+
+    public int events() {
+        return ticks.length;
+    }
+
+    /** Index of the first event at or after {@code tick}. */
+    int firstEventFrom(long tick) {
+        int i = Arrays.binarySearch(ticks, tick);
+        if (i < 0) return -i - 1;
+        while (i > 0 && ticks[i - 1] == tick) i--;
+        return i;
+    }
+
+    /** Collects direction changes as a live game is played; no allocation per tick. */
+    public static final class Recorder {
+        private final int cols, rows;
+        private final long seed;
+        private long[] ticks = new long[256];
+        private char[] directions = new char[256];
+        private int count;
+        private char last = SnakeSimulation.START_DIRECTION;
+
+        public Recorder(SnakeSimulation sim) {
+            this.cols = sim.cols();
+            this.rows = sim.rows();
+            this.seed = sim.seed();
+        }
+
+        /** Call right before {@code sim.step()}. */
+        public void beforeStep(SnakeSimulation sim) {
+            char d = sim.direction();
+            if (d == last) return;
+            last = d;
+            if (count == ticks.length) {
+                ticks = Arrays.copyOf(ticks, count * 2);
+                directions = Arrays.copyOf(directions, count * 2);
+            }
+            ticks[count] = sim.tick();
+            directions[count++] = d;
+        }
+
+        public Replay finish(long length) {
+            return new Replay(cols, rows, seed, length, Arrays.copyOf(ticks, count), Arrays.copyOf(directions, count));
+        }
+    }
+
+    public void write(OutputStream out) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(32 + ticks.length * 2);
+        DataOutputStream data = new DataOutputStream(buf);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        writeVarint(data, cols);
+        writeVarint(data, rows);
+        writeVarint(data, length);
+        writeVarint(data, ticks.length);
+        data.writeLong(seed);
+        long previous = 0;
+        for (int i = 0; i < ticks.length; i++) {
+            writeVarint(data, (ticks[i] - previous) << 2 | DIRECTIONS.indexOf(directions[i]));
+            previous = ticks[i];
+        }
+        data.flush();
+        buf.writeTo(out);
+    }
+
+    /** Writes to a temporary file and renames it over {@code file}. */
+    public void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            write(out);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Replay read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) throw new IOException("Not a Snake replay");
+        if (data.readByte() != VERSION) throw new IOException("Unsupported replay version");
+        int cols = (int) readVarint(data);
+        int rows = (int) readVarint(data);
+        long length = readVarint(data);
+        int count = (int) readVarint(data);
+        long seed = data.readLong();
+        long[] ticks = new long[count];
+        char[] directions = new char[count];
+        long tick = 0;
+        for (int i = 0; i < count; i++) {
+            long v = readVarint(data);
+            tick += v >>> 2;
+            ticks[i] = tick;
+            directions[i] = DIRECTIONS.charAt((int) (v & 3));
+        }
+        return new Replay(cols, rows, seed, length, ticks, directions);
+    }
+
+    public static Replay read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new EOFException("Malformed varint");
+    }
+}
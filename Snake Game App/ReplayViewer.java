@@ -0,0 +1,145 @@
+package SnakeGamejava;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays back a {@link Replay} at any speed. Seeking restores the nearest
+ * snapshot at or before the target tick (one is kept every
+ * {@value #SNAPSHOT_INTERVAL} ticks) and re-simulates the rest.
+ */
+public class ReplayViewer extends JPanel {
+    static final int SNAPSHOT_INTERVAL = 1000;
+    static final double[] SPEEDS = {0.25, 0.5, 1, 2, 4, 8, 16, 64, 256, 1024};
+
+    private final Replay replay;
+    private final SnakeSimulation sim;
+    private final List<SnakeSimulation> snapshots = new ArrayList<>();
+    private final int unit;
+    private int nextEvent;
+
+    private final JSlider slider;
+    private final JLabel status = new JLabel();
+    private boolean playing = true;
+    private double ticksPerSecond = 1000.0 / GamePanel.DELAY;
+    private double owed;
+    private long lastFrame = System.nanoTime();
+    private boolean syncingSlider;
+
+    public ReplayViewer(Replay replay) {
+        this.replay = replay;
+        this.sim = new SnakeSimulation(replay.cols, replay.rows, replay.seed);
+        this.unit = Math.max(2, Math.min(25, 800 / replay.cols));
+        snapshot();
+
+        setLayout(new BorderLayout());
+        Canvas canvas = new Canvas();
+        canvas.setPreferredSize(new Dimension(replay.cols * unit, replay.rows * unit));
+        add(canvas, BorderLayout.CENTER);
+
+        slider = new JSlider(0, (int) Math.min(Integer.MAX_VALUE, replay.length), 0);
+        slider.addChangeListener(_ -> {
+            if (!syncingSlider) seek(slider.getValue());
+        });
+
+        JButton play = new JButton("⏸");
+        play.addActionListener(_ -> {
+            playing = !playing;
+            play.setText(playing ? "⏸" : "▶");
+        });
+
+        JComboBox<String> speed = new JComboBox<>();
+        for (double s : SPEEDS) speed.addItem(s + "x");
+        speed.setSelectedItem("1.0x");
+        speed.addActionListener(_ -> ticksPerSecond = SPEEDS[speed.getSelectedIndex()] * 1000.0 / GamePanel.DELAY);
+
+        JPanel controls = new JPanel(new BorderLayout());
+        JPanel west = new JPanel();
+        west.add(play);
+        west.add(speed);
+        controls.add(west, BorderLayout.WEST);
+        controls.add(slider, BorderLayout.CENTER);
+        controls.add(status, BorderLayout.EAST);
+        add(controls, BorderLayout.SOUTH);
+
+        new Timer(16, _ -> {
+            long now = System.nanoTime();
+            if (playing) {
+                owed += (now - lastFrame) / 1e9 * ticksPerSecond;
+                while (owed >= 1 && sim.tick() < replay.length) {
+                    advance();
+                    owed--;
+                }
+                if (sim.tick() >= replay.length) owed = 0;
+            }
+            lastFrame = now;
+            syncingSlider = true;
+            slider.setValue((int) Math.min(Integer.MAX_VALUE, sim.tick()));
+            syncingSlider = false;
+            status.setText(String.format(" tick %,d / %,d  score %d ", sim.tick(), replay.length, sim.applesEaten()));
+            canvas.repaint();
+        }).start();
+    }
+
+    /** Applies any direction change due this tick, steps once, and keeps a snapshot when due. */
+    private void advance() {
+        while (nextEvent < replay.events() && replay.ticks[nextEvent] == sim.tick())
+            sim.setDirection(replay.directions[nextEvent++]);
+        sim.step();
+        if (sim.tick() % SNAPSHOT_INTERVAL == 0 && sim.tick() / SNAPSHOT_INTERVAL == snapshots.size()) snapshot();
+    }
+
+    private void snapshot() {
+        SnakeSimulation copy = new SnakeSimulation(replay.cols, replay.rows, replay.seed);
+        copy.copyFrom(sim);
+        snapshots.add(copy);
+    }
+
+    void seek(long target) {
+        target = Math.max(0, Math.min(replay.length, target));
+        int k = (int) Math.min(snapshots.size() - 1, target / SNAPSHOT_INTERVAL);
+        // Only rewind to a snapshot when it is closer than where we are
+        if (target < sim.tick() || snapshots.get(k).tick() > sim.tick()) {
+            sim.copyFrom(snapshots.get(k));
+            nextEvent = replay.firstEventFrom(sim.tick());
+        }
+        while (sim.tick() < target) advance();
+        owed = 0;
+    }
+
+    private class Canvas extends JComponent {
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(SnakeRenderer.BACKGROUND);
+            g.fillRect(0, 0, getWidth(), getHeight());
+            int cols = replay.cols;
+            if (sim.apple() >= 0) {
+                g.setColor(SnakeRenderer.APPLE);
+                g.fillOval((sim.apple() % cols) * unit, (sim.apple() / cols) * unit, unit, unit);
+            }
+            SnakeBody body = sim.body();
+            g.setColor(SnakeRenderer.BODY);
+            for (int i = body.length() - 1; i >= 0; i--) {
+                if (i == 0) g.setColor(SnakeRenderer.HEAD);
+                int cell = body.get(i);
+                g.fillRect((cell % cols) * unit, (cell / cols) * unit, unit, unit);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Replay replay = Replay.read(Paths.get(args.length > 0 ? args[0] : GamePanel.REPLAY_FILE));
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("🐍 Snake Replay");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.add(new ReplayViewer(replay));
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package SnakeGamejava;
+
+/** A computer controller: picks the direction to press before each tick. */
+public interface SnakeAgent {
+    /** Must not modify {@code sim}. Returns 'U', 'D', 'L' or 'R'. */
+    char decide(SnakeSimulation sim);
+
+    String name();
+}
@@ -0,0 +1,48 @@
+package SnakeGamejava;
+
+/**
+ * Builds Snake agents from short command-line specs: {@code autopilot},
+ * {@code greedy} and {@code random}.
+ */
+public final class SnakeAgents {
+    private SnakeAgents() {
+    }
+
+    public static boolean isKnown(String spec) {
+        return switch (spec) {
+            case "autopilot", "greedy", "random" -> true;
+            default -> false;
+        };
+    }
+
+    /** Agents keep per-board scratch state, so each thread needs its own. */
+    public static SnakeAgent create(String spec, int cols, int rows, long seed) {
+        return switch (spec) {
+            case "autopilot" -> new SnakeAutopilot(cols, rows);
+            case "greedy" -> new GreedyAgent();
+            case "random" -> new RandomAgent(seed);
+            default -> throw new IllegalArgumentException("Unknown agent: " + spec);
+        };
+    }
+
+    /** Cell the head would enter moving {@code d}, or -1 if that leaves the board. */
+    static int target(SnakeSimulation sim, char d) {
+        int cols = sim.cols(), head = sim.body().headCell();
+        int row = head / cols, col = head % cols;
+        switch (d) {
+            case 'U' -> row--;
+            case 'D' -> row++;
+            case 'L' -> col--;
+            default -> col++;
+        }
+        if (row < 0 || row >= sim.rows() || col < 0 || col >= cols) return -1;
+        return row * cols + col;
+    }
+
+    /** True if moving {@code d} next tick does not hit a wall or the body. */
+    static boolean isSafe(SnakeSimulation sim, char d) {
+        if (d == SnakeSimulation.opposite(sim.direction())) return false;
+        int cell = target(sim, d);
+        return cell >= 0 && !sim.body().occupied(cell);
+    }
+}
@@ -0,0 +1,358 @@
+package SnakeGamejava;
+
+/**
+ * Autopilot: breadth-first search to the apple, guarded so the snake never
+ * traps itself.
+ *
+ * <p>When the grid has a Hamiltonian cycle (either side even) and the body
+ * lies along it in order, a move is only taken if it keeps the head behind the
+ * tail in cycle order with room to grow, and does not skip past the apple.
+ * The next cell on the cycle always qualifies, so the snake can never die. It
+ * takes the BFS step when that is allowed, otherwise the allowed shortcut that
+ * gets closest to the apple along the cycle.
+ *
+ * <p>Otherwise (odd by odd grids, or a human-played body that is out of
+ * order) a BFS path is only followed if, after virtually eating the apple, the
+ * snake can still reach its tail; failing that it chases its own tail. Tail
+ * chasing can settle into a loop that never frees a safe path, so after
+ * {@link #STALL_TICKS} per cell without an apple it wanders instead, picking
+ * at random among moves that keep the tail reachable. After
+ * {@link #GIVE_UP_TICKS} per cell it takes the apple path unchecked, so a
+ * game always makes progress or ends.
+ *
+ * <p>All searches reuse preallocated int queues and generation-stamped visited
+ * arrays, so planning does not allocate.
+ */
+public final class SnakeAutopilot implements SnakeAgent {
+    static final int STALL_TICKS = 2;
+    static final int GIVE_UP_TICKS = 16;
+
+    private final int cols, rows, cells;
+
+    // cycleCell[i] is the i-th cell of the cycle, cyclePos is its inverse; null if no cycle exists
+    private final int[] cycleCell;
+    private final int[] cyclePos;
+
+    private final int[] queue;
+    private final int[] parent;
+    private final int[] seen;
+    private int generation;
+
+    private final int[] path;
+    private final SnakeBody scratch;
+    private final int[] neighbours = new int[4];
+    private final int[] safe = new int[4];
+
+    // Progress tracking for the no-cycle strategy
+    private int applesSeen = -1;
+    private long sinceApple;
+    private long rng = 0x9E3779B97F4A7C15L;
+
+    public SnakeAutopilot(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        this.cells = cols * rows;
+        queue = new int[cells];
+        parent = new int[cells];
+        seen = new int[cells];
+        path = new int[cells];
+        scratch = new SnakeBody(cells);
+
+        if (rows % 2 == 0 && cols >= 2) {
+            cycleCell = buildCycle(cols, rows, false);
+        } else if (cols % 2 == 0 && rows >= 2) {
+            cycleCell = buildCycle(cols, rows, true);
+        } else {
+            cycleCell = null;
+        }
+        if (cycleCell != null) {
+            cyclePos = new int[cells];
+            for (int i = 0; i < cells; i++) cyclePos[cycleCell[i]] = i;
+        } else {
+            cyclePos = null;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "autopilot";
+    }
+
+    public boolean hasCycle() {
+        return cycleCell != null;
+    }
+
+    @Override
+    public char decide(SnakeSimulation sim) {
+        SnakeBody body = sim.body();
+        int head = body.headCell();
+        int apple = sim.apple();
+        int pending = sim.bodyParts() - body.length();
+
+        if (sim.applesEaten() != applesSeen) {
+            applesSeen = sim.applesEaten();
+            sinceApple = 0;
+        } else {
+            sinceApple++;
+        }
+
+        int next = -1;
+        if (cycleCell != null && inCycleOrder(body)) {
+            next = cycleMove(body, head, apple, pending);
+        } else {
+            int len = apple >= 0 ? bfsPath(body, head, apple) : 0;
+            if (len > 0 && (tailReachableAfter(body, len, pending) || sinceApple > (long) GIVE_UP_TICKS * cells)) {
+                next = path[0];
+            }
+            if (next < 0 && sinceApple > (long) STALL_TICKS * cells) next = wander(body, head, pending);
+            if (next < 0) next = chaseTail(body, head);
+        }
+        return next < 0 ? sim.direction() : directionTo(head, next);
+    }
+
+    // ---- Hamiltonian cycle discipline ----
+
+    private int cycleMove(SnakeBody body, int head, int apple, int pending) {
+        int tail = body.tailCell();
+        int toTail = cycleDistance(head, tail);
+        // Cells skipped by a shortcut stay free behind the head until the tail
+        // passes them, which takes up to a body length of ticks. Each apple eaten
+        // meanwhile costs a free cell ahead, so keep more room ahead than that;
+        // past half the board this disables shortcuts altogether.
+        int margin = body.length() + pending + 2;
+
+        int bfsStep = -1;
+        if (apple >= 0 && bfsPath(body, head, apple) > 0) bfsStep = path[0];
+
+        int best = cycleCell[(cyclePos[head] + 1) % cells];
+        int bestToApple = apple >= 0 ? cycleDistance(best, apple) : 0;
+        int headToApple = apple >= 0 ? cycleDistance(head, apple) : cells;
+        int n = neighbours(head);
+        for (int i = 0; i < n; i++) {
+            int c = neighbours[i];
+            if (body.occupied(c)) continue;
+            int ahead = cycleDistance(head, c);
+            if (ahead != 1 && toTail - ahead <= margin) continue; // too close to the tail
+            if (ahead > headToApple) continue; // would skip past the apple
+            if (c == bfsStep) return c;
+            int toApple = apple >= 0 ? cycleDistance(c, apple) : 0;
+            if (toApple < bestToApple) {
+                best = c;
+                bestToApple = toApple;
+            }
+        }
+        return best;
+    }
+
+    /** True when the body, read from tail to head, moves forward along the cycle without wrapping past itself. */
+    private boolean inCycleOrder(SnakeBody body) {
+        int len = body.length();
+        int span = 0;
+        int prev = body.get(len - 1);
+        for (int i = len - 2; i >= 0; i--) {
+            int c = body.get(i);
+            int d = cycleDistance(prev, c);
+            if (d == 0) return false;
+            span += d;
+            if (span >= cells) return false;
+            prev = c;
+        }
+        return true;
+    }
+
+    private int cycleDistance(int from, int to) {
+        int d = cyclePos[to] - cyclePos[from];
+        return d < 0 ? d + cells : d;
+    }
+
+    /**
+     * Row 0 left to right, then a serpentine over columns 1.. through the
+     * remaining rows, then back up column 0. Needs an even row count; with
+     * {@code transpose} the same shape is built over columns instead.
+     */
+    private static int[] buildCycle(int cols, int rows, boolean transpose) {
+        int w = transpose ? rows : cols, h = transpose ? cols : rows;
+        int[] order = new int[w * h];
+        int n = 0;
+        for (int c = 0; c < w; c++) order[n++] = cell(0, c, cols, transpose);
+        for (int r = 1; r < h; r++) {
+            if (r % 2 == 1) {
+                for (int c = w - 1; c >= 1; c--) order[n++] = cell(r, c, cols, transpose);
+            } else {
+                for (int c = 1; c < w; c++) order[n++] = cell(r, c, cols, transpose);
+            }
+        }
+        for (int r = h - 1; r >= 1; r--) order[n++] = cell(r, 0, cols, transpose);
+        return order;
+    }
+
+    private static int cell(int r, int c, int cols, boolean transpose) {
+        return transpose ? c * cols + r : r * cols + c;
+    }
+
+    // ---- searches ----
+
+    /**
+     * Shortest path from {@code from} to {@code to} through free cells, written
+     * to {@code path} (excluding {@code from}). Returns its length, or 0 if none.
+     */
+    private int bfsPath(SnakeBody body, int from, int to) {
+        int gen = nextGeneration();
+        int qh = 0, qt = 0;
+        queue[qt++] = from;
+        seen[from] = gen;
+        while (qh < qt) {
+            int c = queue[qh++];
+            int n = neighbours(c);
+            for (int i = 0; i < n; i++) {
+                int nb = neighbours[i];
+                if (seen[nb] == gen || body.occupied(nb)) continue;
+                seen[nb] = gen;
+                parent[nb] = c;
+                if (nb == to) return tracePath(from, to);
+                queue[qt++] = nb;
+            }
+        }
+        return 0;
+    }
+
+    private int tracePath(int from, int to) {
+        int len = 0;
+        for (int c = to; c != from; c = parent[c]) len++;
+        int i = len;
+        for (int c = to; c != from; c = parent[c]) path[--i] = c;
+        return len;
+    }
+
+    /** Plays {@code path} on a scratch copy of the body, then checks the tail is still reachable. */
+    private boolean tailReachableAfter(SnakeBody body, int len, int pending) {
+        scratch.copyFrom(body);
+        for (int i = 0; i < len; i++) {
+            scratch.addHead(path[i]);
+            boolean eats = i == len - 1;
+            if (pending > 0) pending--;
+            else if (!eats) scratch.removeTail();
+        }
+        return reachesTail(scratch, scratch.headCell()) >= 0;
+    }
+
+    /**
+     * BFS from {@code from} over free cells; returns the first free neighbour
+     * of {@code from} on a route that ends next to the tail, or -1. Stepping
+     * straight onto the tail is a collision, so the route must end beside it.
+     */
+    private int reachesTail(SnakeBody body, int from) {
+        int tail = body.tailCell();
+        int gen = nextGeneration();
+        int qh = 0, qt = 0;
+        seen[from] = gen;
+        int n = neighbours(from);
+        for (int i = 0; i < n; i++) {
+            int nb = neighbours[i];
+            if (body.occupied(nb)) continue;
+            seen[nb] = gen;
+            parent[nb] = nb; // remember which first step led here
+            queue[qt++] = nb;
+        }
+        while (qh < qt) {
+            int c = queue[qh++];
+            if (adjacent(c, tail)) return parent[c];
+            int m = neighbours(c);
+            for (int i = 0; i < m; i++) {
+                int nb = neighbours[i];
+                if (seen[nb] == gen || body.occupied(nb)) continue;
+                seen[nb] = gen;
+                parent[nb] = parent[c];
+                queue[qt++] = nb;
+            }
+        }
+        return -1;
+    }
+
+    /** Move that keeps a route back to the tail open, else any free neighbour. */
+    private int chaseTail(SnakeBody body, int head) {
+        int step = reachesTail(body, head);
+        if (step >= 0) return step;
+        int n = neighbours(head);
+        for (int i = 0; i < n; i++) if (!body.occupied(neighbours[i])) return neighbours[i];
+        return -1;
+    }
+
+    /** A random free neighbour after which the tail is still reachable, or -1. */
+    private int wander(SnakeBody body, int head, int pending) {
+        int n = neighbours(head), count = 0;
+        for (int i = 0; i < n; i++) if (!body.occupied(neighbours[i])) safe[count++] = neighbours[i];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int c = safe[i];
+            scratch.copyFrom(body);
+            scratch.addHead(c);
+            if (pending == 0) scratch.removeTail();
+            if (reachesTail(scratch, c) >= 0) safe[kept++] = c;
+        }
+        if (kept == 0) return -1;
+        rng ^= rng << 13;
+        rng ^= rng >>> 7;
+        rng ^= rng << 17;
+        return safe[(int) Math.floorMod(rng, (long) kept)];
+    }
+
+    private int nextGeneration() {
+        if (++generation == 0) {
+            java.util.Arrays.fill(seen, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    private int neighbours(int c) {
+        int r = c / cols, col = c % cols, n = 0;
+        if (r > 0) neighbours[n++] = c - cols;
+        if (r < rows - 1) neighbours[n++] = c + cols;
+        if (col > 0) neighbours[n++] = c - 1;
+        if (col < cols - 1) neighbours[n++] = c + 1;
+        return n;
+    }
+
+    private boolean adjacent(int a, int b) {
+        int d = Math.abs(a - b);
+        return d == cols || (d == 1 && a / cols == b / cols);
+    }
+
+    private char directionTo(int from, int to) {
+        if (to == from - cols) return 'U';
+        if (to == from + cols) return 'D';
+        if (to == from - 1) return 'L';
+        return 'R';
+    }
+
+    /** Plans/sec and worst plan time per board size, with the autopilot playing its own games. */
+    public static void main(String[] args) {
+        int[][] sizes = {{16, 16}, {32, 24}, {64, 64}, {128, 128}, {256, 256}};
+        long budget = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        for (int[] s : sizes) {
+            SnakeSimulation sim = new SnakeSimulation(s[0], s[1], 1);
+            SnakeAutopilot pilot = new SnakeAutopilot(s[0], s[1]);
+            long plans = 0, planNanos = 0, worst = 0, games = 1, apples = 0, deaths = 0;
+            long end = System.nanoTime() + budget * 1_000_000L;
+            while (System.nanoTime() < end) {
+                if (!sim.isRunning()) {
+                    if (!sim.isWon()) deaths++;
+                    apples += sim.applesEaten();
+                    sim.reset(++games);
+                }
+                long t0 = System.nanoTime();
+                char d = pilot.decide(sim);
+                long t = System.nanoTime() - t0;
+                planNanos += t;
+                worst = Math.max(worst, t);
+                plans++;
+                sim.setDirection(d);
+                sim.step();
+            }
+            apples += sim.applesEaten();
+            System.out.printf("%4dx%-4d %,12.0f plans/s  mean %6.1f us  worst %7.1f us  apples %,d  deaths %d%n",
+                s[0], s[1], plans * 1e9 / planNanos, planNanos / 1e3 / plans, worst / 1e3, apples, deaths);
+        }
+    }
+}
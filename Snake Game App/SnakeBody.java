@@ -0,0 +1,86 @@
+package SnakeGamejava;
+
+import java.util.Arrays;
+
+/**
+ * Snake segments as a circular buffer of packed cell indices (row * cols + col)
+ * plus an occupancy bitset, so adding a head, dropping the tail and testing
+ * whether a cell is part of the body are all O(1) and allocation-free. The
+ * complementary {@link FreeCells} set is kept in step for apple spawning.
+ */
+public final class SnakeBody {
+    private final int[] ring;
+    private final long[] occupied;
+    private final FreeCells free;
+    private int head;   // ring slot of the head
+    private int length;
+
+    public SnakeBody(int cells) {
+        // One spare slot: the new head is pushed before the tail is dropped
+        ring = new int[cells + 1];
+        occupied = new long[(cells + 63) >>> 6];
+        free = new FreeCells(cells);
+    }
+
+    public void reset(int startCell) {
+        Arrays.fill(occupied, 0L);
+        free.fill();
+        head = 0;
+        length = 0;
+        addHead(startCell);
+    }
+
+    /** Copies {@code other}, which must have the same capacity. */
+    public void copyFrom(SnakeBody other) {
+        System.arraycopy(other.ring, 0, ring, 0, ring.length);
+        System.arraycopy(other.occupied, 0, occupied, 0, occupied.length);
+        free.copyFrom(other.free);
+        head = other.head;
+        length = other.length;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int headCell() {
+        return ring[head];
+    }
+
+    public int tailCell() {
+        return get(length - 1);
+    }
+
+    /** Segment {@code i} counted from the head (0) to the tail (length - 1). */
+    public int get(int i) {
+        int slot = head - i;
+        return ring[slot < 0 ? slot + ring.length : slot];
+    }
+
+    /** Empty cells; read-only for callers, the body keeps it up to date. */
+    public FreeCells free() {
+        return free;
+    }
+
+    public boolean occupied(int cell) {
+        return (occupied[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public void addHead(int cell) {
+        if (length == ring.length) throw new IllegalStateException("Snake body is full");
+        head = head + 1 == ring.length ? 0 : head + 1;
+        ring[head] = cell;
+        occupied[cell >>> 6] |= 1L << cell;
+        free.remove(cell);
+        length++;
+    }
+
+    /** Removes and returns the tail cell. */
+    public int removeTail() {
+        int cell = tailCell();
+        occupied[cell >>> 6] &= ~(1L << cell);
+        free.add(cell);
+        length--;
+        return cell;
+    }
+}
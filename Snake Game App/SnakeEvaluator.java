@@ -0,0 +1,222 @@
+package SnakeGamejava;
+
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless batch evaluation of Snake agents; never touches Swing.
+ *
+ * <pre>
+ * java SnakeGamejava.SnakeEvaluator [agents] [boards] [seeds] [threads] [csv|json] [maxTicks]
+ * java SnakeGamejava.SnakeEvaluator autopilot,greedy 16x16,32x24 1000
+ * </pre>
+ *
+ * Every agent plays every board with seeds 1..seeds. Games are split over a
+ * work-stealing {@link ForkJoinPool}; each leaf task reuses one simulation for
+ * consecutive games on the same board, and agents are created per game so a
+ * game depends only on its seed, not on scheduling. Results land in
+ * per-game primitive arrays and one row per game is streamed to stdout as its
+ * task finishes, followed by a per-agent, per-board summary. Progress goes to
+ * stderr once a second. A game that runs past {@code maxTicks} is counted as
+ * a timeout.
+ */
+public final class SnakeEvaluator {
+    static final byte DIED = 0, WON = 1, TIMEOUT = 2;
+    private static final String[] OUTCOMES = {"died", "won", "timeout"};
+    private static final int GRAIN = 8;
+
+    private final String[] agents;
+    private final int[] cols, rows;
+    private final int seeds;
+    private final int threads;
+    private final boolean json;
+    private final long maxTicks;
+    private final int games;
+
+    // Per-game results, indexed by game id
+    private final int[] score;
+    private final int[] length;
+    private final long[] ticks;
+    private final long[] nanos;
+    private final byte[] outcome;
+
+    private final PrintStream out;
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder ticksDone = new LongAdder();
+    private boolean firstRow = true;
+
+    public SnakeEvaluator(String[] agents, int[] cols, int[] rows, int seeds, int threads,
+                          boolean json, long maxTicks, PrintStream out) {
+        for (String a : agents)
+            if (!SnakeAgents.isKnown(a)) throw new IllegalArgumentException("Unknown agent: " + a);
+        this.agents = agents;
+        this.cols = cols;
+        this.rows = rows;
+        this.seeds = seeds;
+        this.threads = threads;
+        this.json = json;
+        this.maxTicks = maxTicks;
+        this.out = out;
+        games = agents.length * cols.length * seeds;
+        score = new int[games];
+        length = new int[games];
+        ticks = new long[games];
+        nanos = new long[games];
+        outcome = new byte[games];
+    }
+
+    // Game ids run seed-fastest, so a leaf's games mostly share a board and agent
+    private int board(int game) { return game / seeds % cols.length; }
+    private int agent(int game) { return game / seeds / cols.length; }
+    private long seed(int game) { return game % seeds + 1; }
+
+    public void run() throws InterruptedException {
+        if (json) out.println("{\"games\":[");
+        else out.println("agent,board,seed,outcome,score,length,ticks,ticks_per_sec");
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        pool.execute(new Batch(0, games));
+        pool.shutdown();
+        while (!pool.awaitTermination(1, TimeUnit.SECONDS)) progress(start);
+        progress(start);
+        summary((System.nanoTime() - start) / 1e9);
+    }
+
+    private final class Batch extends RecursiveAction {
+        private final int from, to;
+
+        Batch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Batch(from, mid), new Batch(mid, to));
+                return;
+            }
+            SnakeSimulation sim = null;
+            int simBoard = -1;
+            for (int g = from; g < to; g++) {
+                int b = board(g);
+                if (b != simBoard) {
+                    sim = new SnakeSimulation(cols[b], rows[b], seed(g));
+                    simBoard = b;
+                }
+                sim.reset(seed(g));
+                play(g, sim, SnakeAgents.create(agents[agent(g)], cols[b], rows[b], seed(g)));
+            }
+            emit(from, to);
+        }
+    }
+
+    private void play(int g, SnakeSimulation sim, SnakeAgent agent) {
+        long start = System.nanoTime();
+        long t = 0;
+        while (sim.isRunning() && t < maxTicks) {
+            sim.setDirection(agent.decide(sim));
+            sim.step();
+            t++;
+        }
+        nanos[g] = System.nanoTime() - start;
+        ticks[g] = t;
+        score[g] = sim.applesEaten();
+        length[g] = sim.body().length();
+        outcome[g] = sim.isRunning() ? TIMEOUT : sim.isWon() ? WON : DIED;
+        ticksDone.add(t);
+    }
+
+    private void emit(int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int g = from; g < to; g++) {
+            int b = board(g);
+            double rate = nanos[g] == 0 ? 0 : ticks[g] * 1e9 / nanos[g];
+            if (json) {
+                if (g > from) sb.append(",\n");
+                sb.append(String.format("{\"agent\":\"%s\",\"board\":\"%dx%d\",\"seed\":%d,\"outcome\":\"%s\","
+                        + "\"score\":%d,\"length\":%d,\"ticks\":%d,\"ticksPerSec\":%.0f}",
+                    agents[agent(g)], cols[b], rows[b], seed(g), OUTCOMES[outcome[g]], score[g], length[g], ticks[g], rate));
+            } else {
+                sb.append(String.format("%s,%dx%d,%d,%s,%d,%d,%d,%.0f%n",
+                    agents[agent(g)], cols[b], rows[b], seed(g), OUTCOMES[outcome[g]], score[g], length[g], ticks[g], rate));
+            }
+        }
+        synchronized (this) {
+            // JSON rows from different tasks still need a separating comma
+            if (json) out.println(firstRow ? sb : "," + sb);
+            else out.print(sb);
+            firstRow = false;
+            out.flush();
+        }
+        finished.add(to - from);
+    }
+
+    private void progress(long start) {
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%,d/%,d games  %,.0f ticks/s%n", finished.sum(), games, secs == 0 ? 0 : ticksDone.sum() / secs);
+    }
+
+    private void summary(double wallSecs) {
+        if (json) out.println("],\"summary\":[");
+        else out.println("\nagent,board,games,won,died,timeout,mean_score,max_score,mean_ticks,ticks_per_sec");
+        boolean first = true;
+        for (int a = 0; a < agents.length; a++) {
+            for (int b = 0; b < cols.length; b++) {
+                int won = 0, died = 0, timedOut = 0, maxScore = 0;
+                long scoreSum = 0, tickSum = 0, nanoSum = 0;
+                int base = (a * cols.length + b) * seeds;
+                for (int g = base; g < base + seeds; g++) {
+                    switch (outcome[g]) {
+                        case WON -> won++;
+                        case DIED -> died++;
+                        default -> timedOut++;
+                    }
+                    scoreSum += score[g];
+                    maxScore = Math.max(maxScore, score[g]);
+                    tickSum += ticks[g];
+                    nanoSum += nanos[g];
+                }
+                double meanScore = (double) scoreSum / seeds, meanTicks = (double) tickSum / seeds;
+                double rate = nanoSum == 0 ? 0 : tickSum * 1e9 / nanoSum;
+                if (json) {
+                    out.printf("%s{\"agent\":\"%s\",\"board\":\"%dx%d\",\"games\":%d,\"won\":%d,\"died\":%d,\"timeout\":%d,"
+                            + "\"meanScore\":%.2f,\"maxScore\":%d,\"meanTicks\":%.1f,\"ticksPerSec\":%.0f}%n",
+                        first ? "" : ",", agents[a], cols[b], rows[b], seeds, won, died, timedOut,
+                        meanScore, maxScore, meanTicks, rate);
+                } else {
+                    out.printf("%s,%dx%d,%d,%d,%d,%d,%.2f,%d,%.1f,%.0f%n",
+                        agents[a], cols[b], rows[b], seeds, won, died, timedOut, meanScore, maxScore, meanTicks, rate);
+                }
+                first = false;
+            }
+        }
+        long total = 0;
+        for (long t : ticks) total += t;
+        if (json) out.printf("],\"threads\":%d,\"seconds\":%.3f,\"ticksPerSec\":%.0f}%n", threads, wallSecs, total / wallSecs);
+        else out.printf("%n%,d games, %d threads, %.2fs, %,.0f ticks/s overall%n", games, threads, wallSecs, total / wallSecs);
+        out.flush();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] agents = (args.length > 0 ? args[0] : "autopilot,greedy,random").split(",");
+        String[] boards = (args.length > 1 ? args[1] : "16x16,32x24").split(",");
+        int seeds = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        boolean json = args.length > 4 && args[4].equalsIgnoreCase("json");
+        long maxTicks = args.length > 5 ? Long.parseLong(args[5]) : 1_000_000L;
+
+        int[] cols = new int[boards.length], rows = new int[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            String[] wh = boards[i].toLowerCase().split("x");
+            cols[i] = Integer.parseInt(wh[0]);
+            rows[i] = Integer.parseInt(wh[1]);
+        }
+        new SnakeEvaluator(agents, cols, rows, seeds, threads, json, maxTicks, System.out).run();
+    }
+}
@@ -5,11 +5,20 @@ import javax.swing.*;
 public class SnakeGame {
     public static void main(String[] args) {
         JFrame frame = new JFrame();
-        GamePanel panel = new GamePanel(frame);
+        // "huge [cols] [rows]" plays on a scrolling world much larger than the window
+        boolean huge = args.length > 0 && args[0].equalsIgnoreCase("huge");
+        JPanel panel;
+        if (huge) {
+            int cols = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+            int rows = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+            panel = new HugeWorldPanel(cols, rows);
+        } else {
+            panel = new GamePanel(frame);
+        }
 
         frame.setTitle("🐍 Snake Game");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setResizable(false);
+        frame.setResizable(huge);
         frame.add(panel);
         frame.pack(); // set size based on panel preferred size
         frame.setLocationRelativeTo(null); // center screen
@@ -0,0 +1,281 @@
+package SnakeGamejava;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Draws the running game into a persistent {@link VolatileImage} back buffer.
+ * Only cells reported through {@link #markDirty} (plus the cells under the
+ * sliding head and tail, the score and the stats line) are redrawn each frame;
+ * everything else stays in the buffer. Colours, fonts and cell sprites are
+ * created once, so a frame allocates nothing.
+ *
+ * All methods must be called while holding the game's state lock.
+ */
+final class SnakeRenderer {
+    static final Color BACKGROUND = Color.black;
+    static final Color HEAD = Color.green;
+    static final Color BODY = new Color(45, 180, 0);
+    static final Color APPLE = Color.red;
+    static final Font SCORE_FONT = new Font("Ink Free", Font.BOLD, 30);
+    static final Font HUD_FONT = new Font("Monospaced", Font.PLAIN, 12);
+
+    private static final int MAX_DIRTY = 64;
+    private static final int SCORE_X = 460, SCORE_BASELINE = 45;
+
+    private final int cols, rows, unit;
+
+    private VolatileImage buffer;
+    private Graphics2D bufferGraphics;
+    private GraphicsConfiguration config;
+    private BufferedImage headSprite, bodySprite, appleSprite;
+
+    private final int[] dirty = new int[MAX_DIRTY];
+    private int dirtyCount;
+    private boolean fullRedraw = true;
+
+    // Cells covered by the head/tail sliders last frame; restored next frame
+    private final int[] sliderCells = new int[4];
+    private int sliderCount;
+
+    private int drawnScore = -1;
+    private String scoreText = "";
+    private final Rectangle scoreBounds = new Rectangle();
+    private final Rectangle hudBounds = new Rectangle();
+    private boolean hudShown;
+
+    // Bounding box of everything changed since the last pendingBounds call, in pixels
+    private int minX, minY, maxX, maxY;
+
+    SnakeRenderer(int cols, int rows, int unit) {
+        this.cols = cols;
+        this.rows = rows;
+        this.unit = unit;
+        hudBounds.setBounds(0, rows * unit - 26, cols * unit, 26);
+        clearBounds();
+    }
+
+    /** The next frame redraws everything (new game, resize, lost buffer). */
+    void invalidate() {
+        fullRedraw = true;
+        dirtyCount = 0;
+    }
+
+    void markDirty(int cell) {
+        if (cell < 0 || fullRedraw) return;
+        if (dirtyCount == MAX_DIRTY) {
+            invalidate();
+            return;
+        }
+        dirty[dirtyCount++] = cell;
+        include(cell);
+    }
+
+    /**
+     * Area to pass to {@code repaint} for the next frame, or null when the
+     * whole component must be repainted.
+     */
+    Rectangle pendingBounds(int prevHead, int head, int prevTail, int tail, int score, boolean hud, Rectangle out) {
+        if (fullRedraw) {
+            clearBounds();
+            return null;
+        }
+        if (score != drawnScore) {
+            // New text may be a digit wider than the old bounds
+            includeRect(scoreBounds);
+            maxX = Math.max(maxX, scoreBounds.x + scoreBounds.width + unit * 2);
+        }
+        include(prevHead);
+        include(head);
+        include(prevTail);
+        include(tail);
+        for (int i = 0; i < sliderCount; i++) include(sliderCells[i]);
+        if (hud || hudShown) includeRect(hudBounds);
+        if (maxX < minX) out.setBounds(0, 0, 0, 0);
+        else out.setBounds(minX, minY, maxX - minX, maxY - minY);
+        // Cells marked after this point belong to the next repaint
+        clearBounds();
+        return out;
+    }
+
+    void paint(Graphics g, Component c, SnakeBody body, int appleCell, int score,
+               int prevHead, int prevTail, double alpha, String hud) {
+        GraphicsConfiguration gc = c.getGraphicsConfiguration();
+        if (gc == null) return;
+        ensureBuffer(gc, c.getWidth(), c.getHeight());
+
+        int head = body.headCell();
+        Graphics2D b = bufferGraphics;
+        if (fullRedraw) {
+            b.setColor(BACKGROUND);
+            b.fillRect(0, 0, buffer.getWidth(), buffer.getHeight());
+            for (int i = body.length() - 1; i > 0; i--) drawCell(b, body.get(i), body, head, appleCell);
+            if (appleCell >= 0) drawCell(b, appleCell, body, head, appleCell);
+            drawnScore = -1;
+        } else {
+            for (int i = 0; i < sliderCount; i++) drawCell(b, sliderCells[i], body, head, appleCell);
+            for (int i = 0; i < dirtyCount; i++) drawCell(b, dirty[i], body, head, appleCell);
+        }
+        boolean scoreTouched = !fullRedraw && touchesAny(scoreBounds);
+
+        // Old tail sliding out, then the head sliding in on top
+        int tail = body.tailCell();
+        sliderCount = 0;
+        if (prevTail != tail && !body.occupied(prevTail)) {
+            b.drawImage(bodySprite, lerp(prevTail % cols, tail % cols, alpha), lerp(prevTail / cols, tail / cols, alpha), null);
+            sliderCells[sliderCount++] = prevTail;
+            sliderCells[sliderCount++] = tail;
+        }
+        b.drawImage(headSprite, lerp(prevHead % cols, head % cols, alpha), lerp(prevHead / cols, head / cols, alpha), null);
+        sliderCells[sliderCount++] = prevHead;
+        sliderCells[sliderCount++] = head;
+        for (int i = 0; i < sliderCount; i++) scoreTouched |= touches(scoreBounds, sliderCells[i]);
+
+        // The score sits on top of the grid: redraw it when it changes or cells under it were redrawn
+        if (score != drawnScore) {
+            drawnScore = score;
+            scoreText = "Score: " + score;
+            restoreRect(b, scoreBounds, body, head, appleCell);
+            FontMetrics fm = b.getFontMetrics(SCORE_FONT);
+            scoreBounds.setBounds(SCORE_X, SCORE_BASELINE - fm.getAscent(), fm.stringWidth(scoreText), fm.getAscent() + fm.getDescent());
+            restoreRect(b, scoreBounds, body, head, appleCell);
+            redrawSlidersIn(b, scoreBounds, body, prevHead, prevTail, alpha);
+            drawScore(b);
+        } else if (scoreTouched) {
+            restoreRect(b, scoreBounds, body, head, appleCell);
+            redrawSlidersIn(b, scoreBounds, body, prevHead, prevTail, alpha);
+            drawScore(b);
+        }
+
+        if (hud != null || hudShown) {
+            restoreRect(b, hudBounds, body, head, appleCell);
+            redrawSlidersIn(b, hudBounds, body, prevHead, prevTail, alpha);
+            if (hud != null) {
+                b.setColor(Color.white);
+                b.setFont(HUD_FONT);
+                b.drawString(hud, 10, rows * unit - 10);
+            }
+            hudShown = hud != null;
+        }
+
+        fullRedraw = false;
+        dirtyCount = 0;
+
+        g.drawImage(buffer, 0, 0, null);
+        if (buffer.contentsLost()) invalidate();
+    }
+
+    private void ensureBuffer(GraphicsConfiguration gc, int width, int height) {
+        if (gc != config) {
+            config = gc;
+            headSprite = sprite(gc, HEAD, false);
+            bodySprite = sprite(gc, BODY, false);
+            appleSprite = sprite(gc, APPLE, true);
+            disposeBuffer();
+        }
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+            disposeBuffer();
+            buffer = gc.createCompatibleVolatileImage(Math.max(1, width), Math.max(1, height));
+            bufferGraphics = buffer.createGraphics();
+            fullRedraw = true;
+        }
+        int status = buffer.validate(gc);
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            disposeBuffer();
+            ensureBuffer(gc, width, height);
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            bufferGraphics.dispose();
+            bufferGraphics = buffer.createGraphics();
+            fullRedraw = true;
+        }
+    }
+
+    private void disposeBuffer() {
+        if (bufferGraphics != null) bufferGraphics.dispose();
+        if (buffer != null) buffer.flush();
+        bufferGraphics = null;
+        buffer = null;
+    }
+
+    private BufferedImage sprite(GraphicsConfiguration gc, Color color, boolean round) {
+        BufferedImage img = gc.createCompatibleImage(unit, unit, round ? Transparency.TRANSLUCENT : Transparency.OPAQUE);
+        Graphics2D s = img.createGraphics();
+        s.setColor(color);
+        if (round) {
+            s.fillOval(0, 0, unit, unit);
+        } else {
+            s.fillRect(0, 0, unit, unit);
+        }
+        s.dispose();
+        return img;
+    }
+
+    // The head cell is left empty here; the head slider paints it
+    private void drawCell(Graphics2D b, int cell, SnakeBody body, int head, int appleCell) {
+        int x = (cell % cols) * unit, y = (cell / cols) * unit;
+        b.setColor(BACKGROUND);
+        b.fillRect(x, y, unit, unit);
+        if (cell != head && body.occupied(cell)) b.drawImage(bodySprite, x, y, null);
+        else if (cell == appleCell) b.drawImage(appleSprite, x, y, null);
+    }
+
+    private void restoreRect(Graphics2D b, Rectangle r, SnakeBody body, int head, int appleCell) {
+        if (r.isEmpty()) return;
+        int c0 = Math.max(0, r.x / unit), c1 = Math.min(cols - 1, (r.x + r.width) / unit);
+        int r0 = Math.max(0, r.y / unit), r1 = Math.min(rows - 1, (r.y + r.height) / unit);
+        for (int row = r0; row <= r1; row++)
+            for (int col = c0; col <= c1; col++)
+                drawCell(b, row * cols + col, body, head, appleCell);
+    }
+
+    private void redrawSlidersIn(Graphics2D b, Rectangle r, SnakeBody body, int prevHead, int prevTail, double alpha) {
+        int head = body.headCell(), tail = body.tailCell();
+        if (prevTail != tail && !body.occupied(prevTail) && (touches(r, prevTail) || touches(r, tail)))
+            b.drawImage(bodySprite, lerp(prevTail % cols, tail % cols, alpha), lerp(prevTail / cols, tail / cols, alpha), null);
+        if (touches(r, prevHead) || touches(r, head))
+            b.drawImage(headSprite, lerp(prevHead % cols, head % cols, alpha), lerp(prevHead / cols, head / cols, alpha), null);
+    }
+
+    private void drawScore(Graphics2D b) {
+        b.setColor(Color.white);
+        b.setFont(SCORE_FONT);
+        b.drawString(scoreText, SCORE_X, SCORE_BASELINE);
+    }
+
+    private boolean touches(Rectangle r, int cell) {
+        int x = (cell % cols) * unit, y = (cell / cols) * unit;
+        return x < r.x + r.width && x + unit > r.x && y < r.y + r.height && y + unit > r.y;
+    }
+
+    private boolean touchesAny(Rectangle r) {
+        for (int i = 0; i < dirtyCount; i++) if (touches(r, dirty[i])) return true;
+        for (int i = 0; i < sliderCount; i++) if (touches(r, sliderCells[i])) return true;
+        return false;
+    }
+
+    private int lerp(int from, int to, double a) {
+        return (int) Math.round((from + (to - from) * a) * unit);
+    }
+
+    private void include(int cell) {
+        if (cell < 0) return;
+        int x = (cell % cols) * unit, y = (cell / cols) * unit;
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x + unit);
+        maxY = Math.max(maxY, y + unit);
+    }
+
+    private void includeRect(Rectangle r) {
+        minX = Math.min(minX, r.x);
+        minY = Math.min(minY, r.y);
+        maxX = Math.max(maxX, r.x + r.width);
+        maxY = Math.max(maxY, r.y + r.height);
+    }
+
+    private void clearBounds() {
+        minX = minY = Integer.MAX_VALUE;
+        maxX = maxY = Integer.MIN_VALUE;
+    }
+}
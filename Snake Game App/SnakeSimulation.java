@@ -0,0 +1,220 @@
+package SnakeGamejava;
+
+/**
+ * The Snake rules with no UI, timer or shared state: one {@link #step()} is
+ * one game tick. All randomness comes from a seeded SplitMix64 generator held
+ * in a single long, so a game is fully determined by its seed and the
+ * direction changes, and {@link #copyFrom} makes exact snapshots.
+ */
+public final class SnakeSimulation {
+    public static final int START_LENGTH = 6;
+    public static final int START_CELL = 0;
+    public static final char START_DIRECTION = 'R';
+
+    /** Receives the cells a tick touched and apples eaten; used for dirty-cell rendering and sound. */
+    public interface Listener {
+        void cellChanged(int cell);
+
+        default void appleEaten() {
+        }
+    }
+
+    private static final Listener NONE = _ -> { };
+
+    private final int cols, rows;
+    private final SnakeBody body;
+    private Listener listener = NONE;
+
+    private long rng;
+    private long seed;
+    private long tick;
+    private char direction;
+    private int bodyParts;
+    private int applesEaten;
+    private int apple;
+    private boolean running;
+    private boolean won;
+    private boolean hitSelf, hitWall;
+    // Where head and tail were before the last step, for interpolated drawing
+    private int prevHead, prevTail;
+
+    public SnakeSimulation(int cols, int rows, long seed) {
+        this.cols = cols;
+        this.rows = rows;
+        this.body = new SnakeBody(cols * rows);
+        reset(seed);
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener == null ? NONE : listener;
+    }
+
+    public void reset(long seed) {
+        this.seed = seed;
+        rng = seed;
+        tick = 0;
+        direction = START_DIRECTION;
+        bodyParts = START_LENGTH;
+        applesEaten = 0;
+        won = false;
+        hitSelf = hitWall = false;
+        // The body only grows towards bodyParts, so a fresh snake starts as
+        // one cell and unfolds over the first ticks
+        body.reset(START_CELL);
+        prevHead = prevTail = START_CELL;
+        apple = -1;
+        running = true;
+        newApple();
+    }
+
+    /** Copies the complete state of {@code other}, which must have the same grid size. */
+    public void copyFrom(SnakeSimulation other) {
+        if (other.cols != cols || other.rows != rows) throw new IllegalArgumentException("Grid size differs");
+        body.copyFrom(other.body);
+        rng = other.rng;
+        seed = other.seed;
+        tick = other.tick;
+        direction = other.direction;
+        bodyParts = other.bodyParts;
+        applesEaten = other.applesEaten;
+        apple = other.apple;
+        running = other.running;
+        won = other.won;
+        hitSelf = other.hitSelf;
+        hitWall = other.hitWall;
+        prevHead = other.prevHead;
+        prevTail = other.prevTail;
+    }
+
+    /**
+     * Turns the snake unless that would reverse it onto itself.
+     * Returns whether the direction was accepted.
+     */
+    public boolean setDirection(char d) {
+        if (d == opposite(direction)) return false;
+        direction = d;
+        return true;
+    }
+
+    public static char opposite(char d) {
+        return switch (d) {
+            case 'U' -> 'D';
+            case 'D' -> 'U';
+            case 'L' -> 'R';
+            default -> 'L';
+        };
+    }
+
+    /** Advances one tick; does nothing once the game is over. */
+    public void step() {
+        if (!running) return;
+        prevHead = body.headCell();
+        prevTail = body.tailCell();
+        move();
+        checkApple();
+        checkCollisions();
+        tick++;
+    }
+
+    private void move() {
+        int head = body.headCell();
+        int col = head % cols, row = head / cols;
+
+        switch (direction) {
+            case 'U' -> row--;
+            case 'D' -> row++;
+            case 'L' -> col--;
+            case 'R' -> col++;
+        }
+
+        hitSelf = false;
+        hitWall = col < 0 || col >= cols || row < 0 || row >= rows;
+        if (hitWall) return;
+
+        // The tail is still in place here, so running into the cell it is
+        // about to leave counts as a hit
+        int cell = row * cols + col;
+        hitSelf = body.occupied(cell);
+        body.addHead(cell);
+        listener.cellChanged(cell);
+    }
+
+    private void checkApple() {
+        if (!hitWall && body.headCell() == apple) {
+            bodyParts++;
+            applesEaten++;
+            listener.appleEaten();
+            newApple();
+        }
+    }
+
+    private void checkCollisions() {
+        if (hitSelf || hitWall) {
+            running = false;
+        }
+
+        // Drop the tail unless the snake is still growing into bodyParts
+        while (body.length() > bodyParts) listener.cellChanged(body.removeTail());
+    }
+
+    private void newApple() {
+        if (apple >= 0) listener.cellChanged(apple);
+        // Uniform over empty cells only; none left means the snake fills the board
+        FreeCells free = body.free();
+        if (free.size() == 0) {
+            apple = -1;
+            won = true;
+            running = false;
+            return;
+        }
+        apple = free.get(nextInt(free.size()));
+        listener.cellChanged(apple);
+    }
+
+    private int nextInt(int bound) {
+        long z = (rng += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) (((z >>> 33) * bound) >>> 31);
+    }
+
+    public int cols() { return cols; }
+    public int rows() { return rows; }
+    public SnakeBody body() { return body; }
+    public long seed() { return seed; }
+    public long tick() { return tick; }
+    public char direction() { return direction; }
+    public int bodyParts() { return bodyParts; }
+    public int applesEaten() { return applesEaten; }
+    public int apple() { return apple; }
+    public boolean isRunning() { return running; }
+    public boolean isWon() { return won; }
+    public int prevHead() { return prevHead; }
+    public int prevTail() { return prevTail; }
+
+    /** Headless throughput check: plays random-turning games and reports ticks/sec. */
+    public static void main(String[] args) {
+        int cols = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        long ticks = args.length > 2 ? Long.parseLong(args[2]) : 50_000_000L;
+
+        SnakeSimulation sim = new SnakeSimulation(cols, rows, 1);
+        char[] dirs = {'U', 'D', 'L', 'R'};
+        long games = 1, x = 7;
+        long start = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            if (!sim.isRunning()) {
+                sim.reset(games++);
+            }
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            if ((x & 7) == 0) sim.setDirection(dirs[(int) (x >>> 3) & 3]);
+            sim.step();
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%dx%d: %,d ticks over %,d games in %.2f s = %,.0f ticks/s%n",
+            cols, rows, ticks, games, secs, ticks / secs);
+    }
+}
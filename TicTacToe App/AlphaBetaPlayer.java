@@ -0,0 +1,231 @@
+package TicTacToeApp;
+
+/**
+ * Negamax with alpha-beta pruning and iterative deepening under a per-move
+ * time budget. Positions are cached in a {@link TranspositionTable} keyed by
+ * a symmetry-reduced Zobrist hash. Candidate moves come from
+ * {@link MoveGenerator}.
+ */
+public class AlphaBetaPlayer implements MoveProvider {
+    private static final int INF = Integer.MAX_VALUE - 1;
+
+    private final long budgetNanos;
+    private int maxDepth;
+    private final int tableEntries;
+
+    private Board board;
+    private SymmetryHasher hasher;
+    private TranspositionTable table;
+    private int[][] moves;
+    private int[][] scores;
+    private MoveGenerator generator;
+
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private volatile boolean stopRequested;
+
+    private int lastDepth, lastScore;
+    private long lastNodes, lastNanos;
+    private double lastHitRate;
+
+    public AlphaBetaPlayer(long budgetMillis) {
+        this(budgetMillis, Integer.MAX_VALUE, 1 << 20);
+    }
+
+    public AlphaBetaPlayer(long budgetMillis, int maxDepth, int tableEntries) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxDepth = maxDepth;
+        this.tableEntries = tableEntries;
+    }
+
+    /** Depth limit for later searches, so one player can serve several settings. */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public String name() {
+        return "alphabeta";
+    }
+
+    @Override
+    public void stop() {
+        stopRequested = true;
+    }
+
+    @Override
+    public int selectMove(Board position) {
+        long start = System.nanoTime();
+        prepare(position);
+        stopRequested = false;
+        aborted = false;
+        nodes = 0;
+        deadline = start + budgetNanos;
+        table.newSearch();
+
+        int remaining = board.cellCount() - board.moveCount();
+        int limit = Math.min(maxDepth, remaining);
+        int bestMove = -1;
+        int bestScore = 0;
+        int depth = 0;
+
+        for (int d = 1; d <= limit; d++) {
+            int move = searchRoot(d, bestMove);
+            if (aborted) break;
+            bestMove = move;
+            bestScore = rootScore;
+            depth = d;
+            if (Math.abs(bestScore) >= Evaluation.WIN_THRESHOLD) break;
+        }
+
+        if (bestMove < 0) {
+            // Not even depth 1 finished; any legal move beats none
+            int n = board.emptyCells(moves[0]);
+            bestMove = n == 0 ? -1 : moves[0][0];
+        }
+
+        lastDepth = depth;
+        lastScore = bestScore;
+        lastNodes = nodes;
+        lastNanos = System.nanoTime() - start;
+        lastHitRate = table.hitRate();
+        return bestMove;
+    }
+
+    @Override
+    public String stats() {
+        double nps = lastNanos == 0 ? 0 : lastNodes * 1e9 / lastNanos;
+        String value = lastScore >= Evaluation.WIN_THRESHOLD ? "win"
+            : lastScore <= -Evaluation.WIN_THRESHOLD ? "loss" : String.valueOf(lastScore);
+        return String.format("depth %d, %s, %,d nodes, %,.0f n/s, TT hit %.0f%%",
+            lastDepth, value, lastNodes, nps, lastHitRate * 100);
+    }
+
+    public long lastNodes() { return lastNodes; }
+    public long lastNanos() { return lastNanos; }
+    public double lastHitRate() { return lastHitRate; }
+
+    private int rootScore;
+
+    private int searchRoot(int depth, int previousBest) {
+        int n = generateMoves(0, previousBest);
+        int alpha = -INF, beta = INF;
+        int best = -1;
+        int player = board.toMove();
+        for (int i = 0; i < n; i++) {
+            int m = moves[0][i];
+            int score = playAndScore(m, player, depth, 0, alpha, beta);
+            if (aborted) return best;
+            if (score > alpha || best < 0) {
+                alpha = Math.max(alpha, score);
+                best = m;
+            }
+        }
+        rootScore = alpha;
+        table.store(hasher.canonical(), depth, TranspositionTable.EXACT, toTable(alpha, 0), hasher.toCanonical(best));
+        return best;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if ((++nodes & 1023) == 0 && (System.nanoTime() > deadline || stopRequested)) aborted = true;
+        if (aborted) return 0;
+        if (board.isFull()) return 0;
+        if (depth == 0) return Evaluation.evaluate(board, board.toMove());
+
+        long key = hasher.canonical();
+        int ttMove = -1;
+        if (table.probe(key)) {
+            ttMove = table.move >= 0 ? hasher.fromCanonical(table.move) : -1;
+            if (table.depth >= depth) {
+                int s = fromTable(table.score, ply);
+                if (table.flag == TranspositionTable.EXACT) return s;
+                if (table.flag == TranspositionTable.LOWER && s >= beta) return s;
+                if (table.flag == TranspositionTable.UPPER && s <= alpha) return s;
+            }
+        }
+
+        int alphaOrig = alpha;
+        int player = board.toMove();
+        int n = generateMoves(ply, ttMove);
+        int best = -INF, bestMove = -1;
+        for (int i = 0; i < n; i++) {
+            int m = moves[ply][i];
+            int score = playAndScore(m, player, depth, ply, alpha, beta);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = m;
+            }
+            if (best > alpha) alpha = best;
+            if (alpha >= beta) break;
+        }
+
+        int flag = best <= alphaOrig ? TranspositionTable.UPPER
+            : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        // canonical() again: the recursive calls moved the remembered symmetry
+        table.store(hasher.canonical(), depth, flag, toTable(best, ply), hasher.toCanonical(bestMove));
+        return best;
+    }
+
+    private int playAndScore(int move, int player, int depth, int ply, int alpha, int beta) {
+        board.play(move);
+        hasher.toggle(player, move);
+        int score = board.winner() == player
+            ? Evaluation.WIN - (ply + 1)
+            : -negamax(depth - 1, ply + 1, -beta, -alpha);
+        hasher.toggle(player, move);
+        board.undo();
+        return score;
+    }
+
+    /** Fills moves[ply] with candidate cells, {@code first} leading and the rest by heuristic value. */
+    private int generateMoves(int ply, int first) {
+        int[] out = moves[ply];
+        int[] value = scores[ply];
+        int n = generator.candidates(board, out);
+
+        int player = board.toMove();
+        for (int i = 0; i < n; i++) {
+            int m = out[i];
+            int v = m == first ? Integer.MAX_VALUE : Evaluation.cellScore(board, m, player);
+            // insertion sort, highest value first
+            int j = i;
+            while (j > 0 && value[j - 1] < v) {
+                out[j] = out[j - 1];
+                value[j] = value[j - 1];
+                j--;
+            }
+            out[j] = m;
+            value[j] = v;
+        }
+        return n;
+    }
+
+    private void prepare(Board position) {
+        if (board == null || board.size() != position.size() || board.winLength() != position.winLength()) {
+            int cells = position.cellCount();
+            board = new Board(position.size(), position.winLength());
+            hasher = new SymmetryHasher(position.size());
+            table = new TranspositionTable(tableEntries);
+            moves = new int[cells + 1][cells];
+            scores = new int[cells + 1][cells];
+            generator = new MoveGenerator(cells);
+        }
+        board.copyFrom(position);
+        hasher.load(board);
+    }
+
+    // Win scores are stored relative to the node so they stay valid at any ply
+    private static int toTable(int score, int ply) {
+        if (score >= Evaluation.WIN_THRESHOLD) return score + ply;
+        if (score <= -Evaluation.WIN_THRESHOLD) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= Evaluation.WIN_THRESHOLD) return score - ply;
+        if (score <= -Evaluation.WIN_THRESHOLD) return score + ply;
+        return score;
+    }
+}
@@ -0,0 +1,251 @@
+package TicTacToeApp;
+
+import java.util.Arrays;
+
+/**
+ * Headless N x N, k-in-a-row board. Each player's stones live in a bitboard
+ * (one long per 64 cells) and wins are detected by testing only the
+ * precomputed line masks that pass through the last move, so play/undo and
+ * win checks never allocate.
+ */
+public final class Board {
+    public static final int EMPTY = 0;
+    public static final int X = 1;
+    public static final int O = 2;
+
+    private final int size;
+    private final int winLength;
+    private final int cells;
+    private final int words;
+
+    // bits[X] / bits[O]; bits[EMPTY] is unused
+    private final long[][] bits = new long[3][];
+
+    // Every winning line as a mask, plus the word range it occupies
+    private final long[][] lineMasks;
+    private final int[] lineLo;
+    private final int[] lineHi;
+    // Indices of the lines that pass through each cell
+    private final int[][] cellLines;
+
+    private final int[] history;
+    private int moveCount = 0;
+    private int toMove = X;
+    private int winner = EMPTY;
+
+    public Board() {
+        this(3, 3);
+    }
+
+    public Board(int size, int winLength) {
+        if (size < 1 || winLength < 1 || winLength > size)
+            throw new IllegalArgumentException("Invalid board " + size + "x" + size + " / " + winLength);
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = size * size;
+        this.words = (cells + 63) >>> 6;
+        bits[X] = new long[words];
+        bits[O] = new long[words];
+        history = new int[cells];
+
+        int[][] dirs = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        int maxLines = 4 * cells;
+        long[][] masks = new long[maxLines][];
+        int[] lo = new int[maxLines], hi = new int[maxLines];
+        int[] perCell = new int[cells];
+        int lines = 0;
+
+        for (int[] d : dirs) {
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    int endR = r + d[0] * (winLength - 1);
+                    int endC = c + d[1] * (winLength - 1);
+                    if (endR < 0 || endR >= size || endC < 0 || endC >= size) continue;
+
+                    long[] mask = new long[words];
+                    int first = Integer.MAX_VALUE, last = -1;
+                    for (int i = 0; i < winLength; i++) {
+                        int cell = index(r + d[0] * i, c + d[1] * i);
+                        mask[cell >>> 6] |= 1L << cell;
+                        first = Math.min(first, cell >>> 6);
+                        last = Math.max(last, cell >>> 6);
+                        perCell[cell]++;
+                    }
+                    masks[lines] = mask;
+                    lo[lines] = first;
+                    hi[lines] = last;
+                    lines++;
+                }
+            }
+        }
+
+        lineMasks = Arrays.copyOf(masks, lines);
+        lineLo = Arrays.copyOf(lo, lines);
+        lineHi = Arrays.copyOf(hi, lines);
+
+        cellLines = new int[cells][];
+        for (int i = 0; i < cells; i++) cellLines[i] = new int[perCell[i]];
+        int[] fill = new int[cells];
+        for (int l = 0; l < lines; l++) {
+            for (int w = lineLo[l]; w <= lineHi[l]; w++) {
+                long m = lineMasks[l][w];
+                while (m != 0) {
+                    int cell = (w << 6) + Long.numberOfTrailingZeros(m);
+                    cellLines[cell][fill[cell]++] = l;
+                    m &= m - 1;
+                }
+            }
+        }
+    }
+
+    public int size() { return size; }
+    public int winLength() { return winLength; }
+    public int cellCount() { return cells; }
+    public int moveCount() { return moveCount; }
+    public int toMove() { return toMove; }
+    public int winner() { return winner; }
+
+    public int index(int row, int col) { return row * size + col; }
+    public int row(int cell) { return cell / size; }
+    public int col(int cell) { return cell % size; }
+
+    public static int opponent(int player) {
+        return player ^ 3;
+    }
+
+    public int get(int cell) {
+        long bit = 1L << cell;
+        int w = cell >>> 6;
+        if ((bits[X][w] & bit) != 0) return X;
+        if ((bits[O][w] & bit) != 0) return O;
+        return EMPTY;
+    }
+
+    public boolean isEmpty(int cell) {
+        int w = cell >>> 6;
+        return ((bits[X][w] | bits[O][w]) & (1L << cell)) == 0;
+    }
+
+    public boolean isFull() {
+        return moveCount == cells;
+    }
+
+    public boolean isGameOver() {
+        return winner != EMPTY || moveCount == cells;
+    }
+
+    /** Places a stone for the side to move and returns the winner after the move (EMPTY if none). */
+    public int play(int cell) {
+        if (isGameOver() || !isEmpty(cell))
+            throw new IllegalStateException("Illegal move " + cell);
+        int player = toMove;
+        bits[player][cell >>> 6] |= 1L << cell;
+        history[moveCount++] = cell;
+        toMove = opponent(player);
+        if (completesLine(player, cell)) winner = player;
+        return winner;
+    }
+
+    public void undo() {
+        if (moveCount == 0) throw new IllegalStateException("No move to undo");
+        int cell = history[--moveCount];
+        int player = opponent(toMove);
+        bits[player][cell >>> 6] &= ~(1L << cell);
+        toMove = player;
+        winner = EMPTY;
+    }
+
+    public int lastMove() {
+        return moveCount == 0 ? -1 : history[moveCount - 1];
+    }
+
+    public int moveAt(int ply) {
+        return history[ply];
+    }
+
+    public void reset() {
+        Arrays.fill(bits[X], 0L);
+        Arrays.fill(bits[O], 0L);
+        moveCount = 0;
+        toMove = X;
+        winner = EMPTY;
+    }
+
+    /** Copies the full position of {@code other}, which must have the same dimensions. */
+    public void copyFrom(Board other) {
+        if (other.size != size || other.winLength != winLength)
+            throw new IllegalArgumentException("Board dimensions differ");
+        System.arraycopy(other.bits[X], 0, bits[X], 0, words);
+        System.arraycopy(other.bits[O], 0, bits[O], 0, words);
+        System.arraycopy(other.history, 0, history, 0, other.moveCount);
+        moveCount = other.moveCount;
+        toMove = other.toMove;
+        winner = other.winner;
+    }
+
+    /** Writes the empty cells into {@code out} and returns how many there are. */
+    public int emptyCells(int[] out) {
+        int n = 0;
+        long[] x = bits[X], o = bits[O];
+        for (int w = 0; w < words; w++) {
+            long free = ~(x[w] | o[w]);
+            if (w == words - 1 && (cells & 63) != 0) free &= (1L << cells) - 1;
+            while (free != 0) {
+                out[n++] = (w << 6) + Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+            }
+        }
+        return n;
+    }
+
+    public int lineCount() {
+        return lineMasks.length;
+    }
+
+    /** Lines passing through {@code cell}; the returned array must not be modified. */
+    public int[] linesThrough(int cell) {
+        return cellLines[cell];
+    }
+
+    /** Number of stones {@code player} has on line {@code line}. */
+    public int countOnLine(int player, int line) {
+        int n = 0;
+        long[] mask = lineMasks[line], b = bits[player];
+        for (int w = lineLo[line]; w <= lineHi[line]; w++) n += Long.bitCount(b[w] & mask[w]);
+        return n;
+    }
+
+    /** Raw bitboard word for {@code player}; exposed for hashing and encoding. */
+    public long word(int player, int w) {
+        return bits[player][w];
+    }
+
+    public int wordCount() {
+        return words;
+    }
+
+    private boolean completesLine(int player, int cell) {
+        long[] b = bits[player];
+        for (int line : cellLines[cell]) {
+            long[] mask = lineMasks[line];
+            boolean full = true;
+            for (int w = lineLo[line]; w <= lineHi[line] && full; w++)
+                full = (b[w] & mask[w]) == mask[w];
+            if (full) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int v = get(index(r, c));
+                sb.append(v == X ? 'X' : v == O ? 'O' : '.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package TicTacToeApp;
+
+/** Static line-counting heuristics shared by the computer players. */
+final class Evaluation {
+    static final int WIN = 1_000_000_000;
+    // Anything above this is a forced win found by search rather than a heuristic value
+    static final int WIN_THRESHOLD = WIN - 10_000;
+
+    // Weight of a line by how many pieces are on it; flat from 8 on, so longer counts share the last entry
+    private static final int[] WEIGHTS = new int[9];
+
+    static {
+        for (int i = 1; i < WEIGHTS.length; i++) WEIGHTS[i] = 1 << Math.min(3 * (i - 1), 20);
+    }
+
+    private Evaluation() {
+    }
+
+    /** Scores the position from {@code player}'s point of view using lines still open to one side. */
+    static int evaluate(Board board, int player) {
+        int opponent = Board.opponent(player);
+        int score = 0;
+        for (int line = 0, n = board.lineCount(); line < n; line++) {
+            int mine = board.countOnLine(player, line);
+            int theirs = board.countOnLine(opponent, line);
+            if (theirs == 0) score += weight(mine);
+            else if (mine == 0) score -= weight(theirs);
+        }
+        return score;
+    }
+
+    private static int weight(int pieces) {
+        return WEIGHTS[Math.min(pieces, WEIGHTS.length - 1)];
+    }
+
+    /** How useful an empty cell is to {@code player}, counting both attack and defence. */
+    static int cellScore(Board board, int cell, int player) {
+        int opponent = Board.opponent(player);
+        int score = 0;
+        for (int line : board.linesThrough(cell)) {
+            int mine = board.countOnLine(player, line);
+            int theirs = board.countOnLine(opponent, line);
+            if (theirs == 0) score += weight(mine + 1);
+            if (mine == 0) score += weight(theirs + 1) >> 1;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,55 @@
+package TicTacToeApp;
+
+import java.util.Random;
+
+/**
+ * One-ply greedy player: wins if it can, blocks if it must, otherwise takes
+ * the candidate with the best {@link Evaluation#cellScore}. Ties are broken
+ * at random.
+ */
+public class HeuristicMoveProvider implements MoveProvider {
+    private final Random random;
+    private MoveGenerator generator;
+    private int[] moves = new int[0];
+
+    public HeuristicMoveProvider(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int selectMove(Board board) {
+        if (moves.length != board.cellCount()) {
+            moves = new int[board.cellCount()];
+            generator = new MoveGenerator(board.cellCount());
+        }
+        int n = generator.candidates(board, moves);
+        int player = board.toMove();
+        int opponent = Board.opponent(player);
+        int k = board.winLength();
+
+        int best = -1, bestScore = Integer.MIN_VALUE, ties = 0;
+        for (int i = 0; i < n; i++) {
+            int cell = moves[i];
+            int score = Evaluation.cellScore(board, cell, player);
+            for (int line : board.linesThrough(cell)) {
+                if (board.countOnLine(player, line) == k - 1 && board.countOnLine(opponent, line) == 0)
+                    return cell;
+                if (board.countOnLine(opponent, line) == k - 1 && board.countOnLine(player, line) == 0)
+                    score = Integer.MAX_VALUE;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = cell;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String name() {
+        return "heuristic";
+    }
+}
@@ -0,0 +1,110 @@
+package TicTacToeApp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulates many players against a {@link MatchServer}: each player is a
+ * virtual thread with its own connection that plays random moves, timing
+ * every MOVE round trip. Prints latency percentiles when all games finish.
+ *
+ * <pre>
+ * java TicTacToeApp.MatchLoadClient [host] [port] [players] [gamesPerPlayer] [strategy] [size]
+ * </pre>
+ */
+public final class MatchLoadClient {
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 5050;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        int gamesEach = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        String strategy = args.length > 4 ? args[4] : "alphabeta";
+        int size = args.length > 5 ? Integer.parseInt(args[5]) : 3;
+
+        long[][] latencies = new long[players][];
+        int[] counts = new int[players];
+        LongAdder errors = new LongAdder();
+        CountDownLatch done = new CountDownLatch(players);
+
+        long start = System.nanoTime();
+        for (int p = 0; p < players; p++) {
+            int id = p;
+            Thread.ofVirtual().start(() -> {
+                long[] lat = new long[64];
+                int n = 0;
+                Random rnd = new Random(id);
+                try (Socket socket = new Socket(host, port);
+                     BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                     PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+                    socket.setTcpNoDelay(true);
+                    Board board = new Board(size, Math.min(size, 5));
+                    int[] empty = new int[board.cellCount()];
+                    for (int g = 0; g < gamesEach; g++) {
+                        out.println("NEW " + size + " " + board.winLength() + " " + strategy);
+                        String ok = in.readLine();
+                        if (ok == null) throw new IOException("server closed the connection");
+                        if (!ok.startsWith("OK")) {
+                            errors.increment();
+                            continue;
+                        }
+                        board.reset();
+                        while (!board.isGameOver()) {
+                            int cell = empty[rnd.nextInt(board.emptyCells(empty))];
+                            long t0 = System.nanoTime();
+                            out.println("MOVE " + cell);
+                            String reply = in.readLine();
+                            long t = System.nanoTime() - t0;
+                            if (reply == null || reply.startsWith("ERR")) {
+                                errors.increment();
+                                break;
+                            }
+                            if (n == lat.length) lat = Arrays.copyOf(lat, n * 2);
+                            lat[n++] = t;
+                            board.play(cell);
+                            if (reply.startsWith("AI ")) board.play(Integer.parseInt(reply.split(" ")[1]));
+                        }
+                    }
+                    out.println("QUIT");
+                } catch (IOException e) {
+                    errors.increment();
+                } finally {
+                    latencies[id] = lat;
+                    counts[id] = n;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double secs = (System.nanoTime() - start) / 1e9;
+
+        int total = 0;
+        for (int c : counts) total += c;
+        long[] all = new long[total];
+        int at = 0;
+        for (int p = 0; p < players; p++) {
+            System.arraycopy(latencies[p], 0, all, at, counts[p]);
+            at += counts[p];
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%d players x %d games, %,d moves in %.1f s (%,.0f moves/s), %d errors%n",
+            players, gamesEach, total, secs, total / secs, errors.sum());
+        if (total > 0) {
+            System.out.printf("move latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                pct(all, 50), pct(all, 90), pct(all, 99), pct(all, 99.9), all[total - 1] / 1e6);
+        }
+    }
+
+    private static double pct(long[] sorted, double p) {
+        int i = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, i))] / 1e6;
+    }
+}
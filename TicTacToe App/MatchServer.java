@@ -0,0 +1,211 @@
+package TicTacToeApp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts TicTacToe games over TCP, one virtual thread per connection. Games are
+ * plain {@link Board}s; the human is always X and the computer O.
+ *
+ * <pre>
+ * NEW [size] [winLength] [strategy]  -> OK size winLength
+ * MOVE cell                          -> AI cell | AI cell OVER O|DRAW | OVER X|DRAW
+ * BOARD                              -> BOARD row/row/...
+ * QUIT                               -> BYE
+ * anything invalid                   -> ERR reason
+ * </pre>
+ *
+ * Computer moves run on a fixed pool of platform threads with a bounded
+ * number of waiting requests, so a burst of expensive searches queues up
+ * (or is refused with {@code ERR busy}) instead of starving the connections.
+ * Each computer move is also capped in depth or playouts and in time, the
+ * same 500/1500 ms the desktop game allows, so no single client can hold an
+ * AI thread for long.
+ */
+public final class MatchServer {
+    private static final int MAX_SIZE = 19;
+    private static final long ADMISSION_TIMEOUT_MILLIS = 5000;
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_PLAYOUTS = 20_000;
+
+    private final int port;
+    private final ExecutorService aiPool;
+    private final Semaphore aiSlots;
+    // Players are not thread-safe, so each AI thread keeps its own per strategy kind and move budget
+    private final ThreadLocal<Map<String, MoveProvider>> players;
+
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder movesServed = new LongAdder();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public MatchServer(int port, int aiThreads, int maxQueued) {
+        this.port = port;
+        AtomicInteger ids = new AtomicInteger();
+        this.aiPool = Executors.newFixedThreadPool(aiThreads, r -> {
+            Thread t = new Thread(r, "match-ai-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.aiSlots = new Semaphore(aiThreads + maxQueued);
+        this.players = ThreadLocal.withInitial(HashMap::new);
+    }
+
+    public void serve() throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 4096)) {
+            System.out.println("TicTacToe match server on port " + server.getLocalPort());
+            Thread.ofPlatform().daemon().name("match-stats").start(this::reportLoop);
+            while (true) {
+                Socket socket = server.accept();
+                Thread.ofVirtual().name("match-conn").start(() -> handle(socket));
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        connections.incrementAndGet();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            socket.setTcpNoDelay(true);
+            Board board = null;
+            String strategy = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] cmd = line.trim().split("\\s+");
+                switch (cmd[0].toUpperCase()) {
+                    case "NEW" -> {
+                        int size = cmd.length > 1 ? parse(cmd[1], 3) : 3;
+                        int k = cmd.length > 2 ? parse(cmd[2], Math.min(size, 5)) : Math.min(size, 5);
+                        String s = cmd.length > 3 ? cmd[3] : "alphabeta";
+                        if (size < 1 || size > MAX_SIZE || k < 1 || k > size) {
+                            out.println("ERR bad board size");
+                        } else if (!Strategies.isKnown(s)) {
+                            out.println("ERR unknown strategy");
+                        } else if (Strategies.param(s) > (s.startsWith("mcts") ? MAX_PLAYOUTS : MAX_DEPTH)) {
+                            out.println("ERR strategy too expensive, at most alphabeta:" + MAX_DEPTH + " or mcts:" + MAX_PLAYOUTS);
+                        } else {
+                            board = new Board(size, k);
+                            strategy = s;
+                            gamesStarted.increment();
+                            out.println("OK " + size + " " + k);
+                        }
+                    }
+                    case "MOVE" -> out.println(board == null ? "ERR no game" : move(board, strategy, cmd));
+                    case "BOARD" -> out.println(board == null ? "ERR no game" : "BOARD " + board.toString().trim().replace('\n', '/'));
+                    case "QUIT" -> {
+                        out.println("BYE");
+                        return;
+                    }
+                    default -> out.println("ERR unknown command");
+                }
+            }
+        } catch (IOException e) {
+            // client went away; nothing to clean up beyond the socket
+        } finally {
+            connections.decrementAndGet();
+        }
+    }
+
+    private String move(Board board, String strategy, String[] cmd) {
+        if (board.isGameOver()) return "ERR game over";
+        int cell = cmd.length > 1 ? parse(cmd[1], -1) : -1;
+        if (cell < 0 || cell >= board.cellCount() || !board.isEmpty(cell)) return "ERR illegal move";
+
+        board.play(cell);
+        movesServed.increment();
+        if (board.isGameOver()) return "OVER " + result(board);
+
+        int reply;
+        try {
+            reply = computerMove(board, strategy);
+        } catch (IllegalStateException e) {
+            board.undo();
+            return "ERR busy";
+        }
+        board.play(reply);
+        return board.isGameOver() ? "AI " + reply + " OVER " + result(board) : "AI " + reply;
+    }
+
+    private int computerMove(Board board, String strategy) {
+        try {
+            if (!aiSlots.tryAcquire(ADMISSION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+                throw new IllegalStateException("AI pool saturated");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for AI pool");
+        }
+        try {
+            long budget = moveBudgetMillis(board);
+            String kind = Strategies.kind(strategy);
+            Future<Integer> f = aiPool.submit(() -> {
+                // One player per kind and budget, at most eight per thread; the depth or playouts are set per move
+                MoveProvider player = players.get()
+                    .computeIfAbsent(kind + "@" + budget, _ -> Strategies.create(kind, new Random(), budget));
+                Strategies.applyLimit(player, strategy);
+                return player.selectMove(board);
+            });
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for AI move");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("AI move failed", e.getCause());
+        } finally {
+            aiSlots.release();
+        }
+    }
+
+    private static long moveBudgetMillis(Board board) {
+        return board.size() <= 3 ? 500 : 1500;
+    }
+
+    private static String result(Board board) {
+        return board.winner() == Board.X ? "X" : board.winner() == Board.O ? "O" : "DRAW";
+    }
+
+    private static int parse(String s, int fallback) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private void reportLoop() {
+        long lastMoves = 0;
+        while (true) {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long moves = movesServed.sum();
+            System.out.printf("connections=%d games=%,d moves=%,d (%,.0f/s)%n",
+                connections.get(), gamesStarted.sum(), moves, (moves - lastMoves) / 5.0);
+            lastMoves = moves;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 5050;
+        int aiThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxQueued = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        new MatchServer(port, aiThreads, maxQueued).serve();
+    }
+}
@@ -0,0 +1,295 @@
+package TicTacToeApp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Root-parallel Monte Carlo tree search (UCT). Every thread of a
+ * {@link ForkJoinPool} grows its own tree from the same root and the root
+ * visit counts are summed at the end. Trees are stored as preallocated
+ * primitive arrays indexed by node id, and rollouts play random moves from a
+ * reused scratch board, so steady-state search does not allocate.
+ */
+public class MctsPlayer implements MoveProvider {
+    private static final double EXPLORATION = 1.41;
+    private static final int UNEXPANDED = -1;
+
+    private final ForkJoinPool pool;
+    private final Worker[] workers;
+    private final long budgetNanos;
+    private long maxPlayouts;
+    private volatile boolean stopRequested;
+
+    private int[] rootVisits = new int[0];
+
+    public MctsPlayer(long budgetMillis) {
+        this(budgetMillis, Long.MAX_VALUE, Runtime.getRuntime().availableProcessors(), 1 << 18, System.nanoTime());
+    }
+
+    /**
+     * @param maxPlayouts  per-thread playout cap; with a fixed seed and a cap
+     *                     instead of a time budget, results are reproducible
+     * @param nodesPerTree tree capacity per thread; once full, leaves are rolled
+     *                     out without being expanded
+     */
+    public MctsPlayer(long budgetMillis, long maxPlayouts, int threads, int nodesPerTree, long seed) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxPlayouts = maxPlayouts;
+        this.pool = new ForkJoinPool(threads);
+        this.workers = new Worker[threads];
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < threads; i++) workers[i] = new Worker(nodesPerTree, seeds.split());
+    }
+
+    @Override
+    public String name() {
+        return "mcts";
+    }
+
+    @Override
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /** Per-thread playout cap for later searches, so one player (and its pool) can serve several settings. */
+    public void setMaxPlayouts(long maxPlayouts) {
+        this.maxPlayouts = maxPlayouts;
+    }
+
+    public int threads() {
+        return workers.length;
+    }
+
+    @Override
+    public int selectMove(Board board) {
+        stopRequested = false;
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+
+        // Submitted one by one rather than through invokeAll, whose wait does not answer interrupts
+        List<Future<Void>> tasks = new ArrayList<>(workers.length);
+        for (Worker w : workers) {
+            w.reset(board, deadline);
+            tasks.add(pool.submit(w));
+        }
+        try {
+            for (Future<Void> f : tasks) f.get();
+        } catch (InterruptedException e) {
+            // Workers may still be growing their trees; stop them and wait before reading the root counts
+            stopRequested = true;
+            pool.awaitQuiescence(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS worker failed", e.getCause());
+        }
+
+        if (rootVisits.length < board.cellCount()) rootVisits = new int[board.cellCount()];
+        java.util.Arrays.fill(rootVisits, 0);
+        for (Worker w : workers) {
+            for (int i = 0, c = w.childCount[0]; i < c; i++) {
+                int child = w.firstChild[0] + i;
+                rootVisits[w.move[child]] += w.visits[child];
+            }
+        }
+
+        int best = -1;
+        for (int cell = 0; cell < board.cellCount(); cell++)
+            if (board.isEmpty(cell) && (best < 0 || rootVisits[cell] > rootVisits[best])) best = cell;
+        return best;
+    }
+
+    /** Playouts per second achieved by each thread during the last search. */
+    public double[] playoutsPerSecond() {
+        double[] rates = new double[workers.length];
+        for (int i = 0; i < workers.length; i++)
+            rates[i] = workers[i].nanos == 0 ? 0 : workers[i].playouts * 1e9 / workers[i].nanos;
+        return rates;
+    }
+
+    public long lastPlayouts() {
+        long total = 0;
+        for (Worker w : workers) total += w.playouts;
+        return total;
+    }
+
+    @Override
+    public String stats() {
+        double[] rates = playoutsPerSecond();
+        double total = 0;
+        for (double r : rates) total += r;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%,d playouts, %d threads, %,.0f p/s [", lastPlayouts(), workers.length, total));
+        for (int i = 0; i < rates.length; i++) sb.append(i == 0 ? "" : " ").append(String.format("%,.0f", rates[i]));
+        return sb.append(']').toString();
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private final class Worker implements Callable<Void> {
+        private final int capacity;
+        private final SplittableRandom random;
+
+        // Node storage: node 0 is the root; children of a node are contiguous
+        final int[] firstChild;
+        final int[] childCount;
+        final int[] move;
+        final int[] visits;
+        final int[] reward; // half-points for the player who moved into the node
+        private int nodes;
+
+        private Board root;
+        private Board scratch;
+        private MoveGenerator generator;
+        private int[] path;
+        private int[] empties;
+        private long deadline;
+
+        long playouts;
+        long nanos;
+
+        Worker(int capacity, SplittableRandom random) {
+            this.capacity = capacity;
+            this.random = random;
+            firstChild = new int[capacity];
+            childCount = new int[capacity];
+            move = new int[capacity];
+            visits = new int[capacity];
+            reward = new int[capacity];
+        }
+
+        void reset(Board position, long deadline) {
+            if (scratch == null || scratch.size() != position.size() || scratch.winLength() != position.winLength()) {
+                root = new Board(position.size(), position.winLength());
+                scratch = new Board(position.size(), position.winLength());
+                generator = new MoveGenerator(position.cellCount());
+                path = new int[position.cellCount() + 2];
+                empties = new int[position.cellCount()];
+            }
+            root.copyFrom(position);
+            this.deadline = deadline;
+            nodes = 1;
+            childCount[0] = UNEXPANDED;
+            visits[0] = 0;
+            reward[0] = 0;
+            move[0] = -1;
+            playouts = 0;
+        }
+
+        @Override
+        public Void call() {
+            long start = System.nanoTime();
+            int rootPlayer = root.toMove();
+            while (playouts < maxPlayouts && !stopRequested) {
+                if ((playouts & 63) == 0 && System.nanoTime() > deadline) break;
+                iterate(rootPlayer);
+                playouts++;
+            }
+            nanos = System.nanoTime() - start;
+            return null;
+        }
+
+        private void iterate(int rootPlayer) {
+            scratch.copyFrom(root);
+            int node = 0;
+            int depth = 0;
+            path[depth++] = node;
+
+            while (childCount[node] > 0) {
+                node = select(node);
+                scratch.play(move[node]);
+                path[depth++] = node;
+            }
+
+            if (childCount[node] == UNEXPANDED && !scratch.isGameOver() && expand(node)) {
+                node = firstChild[node] + random.nextInt(childCount[node]);
+                scratch.play(move[node]);
+                path[depth++] = node;
+            }
+
+            int winner = rollout();
+
+            // path[i] was entered by rootPlayer when i is odd, by the opponent when even
+            for (int i = 0; i < depth; i++) {
+                int n = path[i];
+                int mover = (i & 1) == 1 ? rootPlayer : Board.opponent(rootPlayer);
+                visits[n]++;
+                reward[n] += winner == mover ? 2 : winner == Board.EMPTY ? 1 : 0;
+            }
+        }
+
+        private int select(int parent) {
+            int first = firstChild[parent], count = childCount[parent];
+            double logParent = Math.log(visits[parent]);
+            int best = first;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int c = first; c < first + count; c++) {
+                int v = visits[c];
+                if (v == 0) return c;
+                double value = reward[c] / (2.0 * v) + EXPLORATION * Math.sqrt(logParent / v);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        private boolean expand(int node) {
+            int n = generator.candidates(scratch, empties);
+            if (n == 0 || nodes + n > capacity) return false;
+            firstChild[node] = nodes;
+            childCount[node] = n;
+            for (int i = 0; i < n; i++) {
+                int c = nodes + i;
+                move[c] = empties[i];
+                childCount[c] = UNEXPANDED;
+                visits[c] = 0;
+                reward[c] = 0;
+            }
+            nodes += n;
+            return true;
+        }
+
+        private int rollout() {
+            if (scratch.isGameOver()) return scratch.winner();
+            int n = scratch.emptyCells(empties);
+            while (!scratch.isGameOver()) {
+                int i = random.nextInt(n);
+                int m = empties[i];
+                empties[i] = empties[--n];
+                scratch.play(m);
+            }
+            return scratch.winner();
+        }
+    }
+
+    /** Prints how playout throughput scales from 1 thread to all cores. */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        int winLength = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        Board board = new Board(size, winLength);
+        System.out.printf("%dx%d, %d in a row, %d ms per run%n", size, size, winLength, millis);
+        for (int threads = 1; ; threads = Math.min(cores, threads * 2)) {
+            MctsPlayer player = new MctsPlayer(millis, Long.MAX_VALUE, threads, 1 << 18, 42);
+            player.selectMove(board); // warm-up
+            int move = player.selectMove(board);
+            double total = 0;
+            for (double r : player.playoutsPerSecond()) total += r;
+            System.out.printf("threads=%2d  move=%3d  total=%,12.0f p/s  per-thread=%,10.0f p/s%n",
+                threads, move, total, total / threads);
+            player.shutdown();
+            if (threads == cores) break;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package TicTacToeApp;
+
+import java.util.Arrays;
+
+/**
+ * Candidate moves for the computer players. On boards up to 5x5 every empty
+ * cell is a candidate; on larger boards only cells within two steps of an
+ * existing stone are, which keeps Gomoku-sized searches focused. Reuses its
+ * scratch arrays, so it must not be shared between threads.
+ */
+final class MoveGenerator {
+    private static final int NEIGHBOURHOOD = 2;
+
+    private final int[] nearStamp;
+    private int stamp;
+
+    MoveGenerator(int cells) {
+        nearStamp = new int[cells];
+    }
+
+    /** Writes candidate cells into {@code out} and returns how many there are. */
+    int candidates(Board board, int[] out) {
+        int n = board.emptyCells(out);
+        int size = board.size();
+        if (size <= 5 || n == 0) return n;
+
+        if (board.moveCount() == 0) {
+            out[0] = board.index(size / 2, size / 2);
+            return 1;
+        }
+
+        if (++stamp == 0) {
+            Arrays.fill(nearStamp, 0);
+            stamp = 1;
+        }
+        for (int i = 0; i < board.moveCount(); i++) {
+            int cell = board.moveAt(i);
+            int r = board.row(cell), c = board.col(cell);
+            for (int rr = Math.max(0, r - NEIGHBOURHOOD); rr <= Math.min(size - 1, r + NEIGHBOURHOOD); rr++)
+                for (int cc = Math.max(0, c - NEIGHBOURHOOD); cc <= Math.min(size - 1, c + NEIGHBOURHOOD); cc++)
+                    nearStamp[rr * size + cc] = stamp;
+        }
+        int kept = 0;
+        for (int i = 0; i < n; i++) if (nearStamp[out[i]] == stamp) out[kept++] = out[i];
+        return kept > 0 ? kept : n;
+    }
+}
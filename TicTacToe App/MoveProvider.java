@@ -0,0 +1,20 @@
+package TicTacToeApp;
+
+/**
+ * A computer player. Implementations must leave {@code board} unchanged and
+ * return an empty cell for the side to move.
+ */
+public interface MoveProvider {
+    int selectMove(Board board);
+
+    String name();
+
+    /** Human-readable figures from the last {@link #selectMove} call, or an empty string. */
+    default String stats() {
+        return "";
+    }
+
+    /** Asks a running search to return as soon as possible. */
+    default void stop() {
+    }
+}
@@ -0,0 +1,150 @@
+package TicTacToeApp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Solved 3x3 TicTacToe as a flat binary file. Positions are indexed by their
+ * base-3 encoding (cell i contributes value * 3^i, X = 1, O = 2), and each
+ * entry is one byte: game value for the side to move in the high nibble and
+ * best move in the low nibble. Run {@code main} once to generate the file; the
+ * game then memory-maps it so each lookup is a single byte read.
+ */
+public final class PerfectPlayTable {
+    public static final String DEFAULT_FILE = "tictactoe-perfect.bin";
+
+    static final int LOSS = 0;
+    static final int DRAW = 1;
+    static final int WIN = 2;
+    static final int NO_MOVE = 0xF;
+
+    private static final int MAGIC = 0x54545433; // "TTT3"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    private static final int CELLS = 9;
+    private static final int ENTRIES = 19683; // 3^9
+    private static final byte UNREACHABLE = (byte) 0xFF;
+
+    private static final int[] POW3 = new int[CELLS];
+
+    static {
+        POW3[0] = 1;
+        for (int i = 1; i < CELLS; i++) POW3[i] = POW3[i - 1] * 3;
+    }
+
+    private final ByteBuffer entries;
+
+    private PerfectPlayTable(ByteBuffer entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Maps {@code file} read-only. Returns null if it is missing, from another
+     * format version, or fails its checksum, so callers can fall back to search.
+     */
+    public static PerfectPlayTable open(Path file) {
+        if (!Files.isRegularFile(file)) return null;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() != HEADER + ENTRIES) return null;
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            map.order(ByteOrder.BIG_ENDIAN);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getInt(8) != ENTRIES) return null;
+
+            ByteBuffer body = map.slice(HEADER, ENTRIES);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != map.getInt(12)) return null;
+            return new PerfectPlayTable(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static boolean supports(Board board) {
+        return board.size() == 3 && board.winLength() == 3;
+    }
+
+    static int encode(Board board) {
+        int index = 0;
+        for (int cell = 0; cell < CELLS; cell++) index += board.get(cell) * POW3[cell];
+        return index;
+    }
+
+    /** Best move for the side to move, or -1 if the position is terminal or unreachable. */
+    public int bestMove(Board board) {
+        int e = entries.get(encode(board)) & 0xFF;
+        int move = e & 0xF;
+        return e == (UNREACHABLE & 0xFF) || move == NO_MOVE ? -1 : move;
+    }
+
+    /** LOSS, DRAW or WIN for the side to move, or -1 if the position is unreachable. */
+    public int value(Board board) {
+        int e = entries.get(encode(board)) & 0xFF;
+        return e == (UNREACHABLE & 0xFF) ? -1 : e >>> 4;
+    }
+
+    /** Solves every reachable position and writes the table atomically to {@code file}. */
+    public static int generate(Path file) throws IOException {
+        byte[] table = new byte[ENTRIES];
+        java.util.Arrays.fill(table, UNREACHABLE);
+        Board board = new Board(3, 3);
+        solve(board, table);
+
+        int reachable = 0;
+        for (byte b : table) if (b != UNREACHABLE) reachable++;
+
+        CRC32 crc = new CRC32();
+        crc.update(table);
+        ByteBuffer out = ByteBuffer.allocate(HEADER + ENTRIES).order(ByteOrder.BIG_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt(ENTRIES).putInt((int) crc.getValue()).put(table);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, out.array());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return reachable;
+    }
+
+    // Returns the value for the side to move and records it with the best move
+    private static int solve(Board board, byte[] table) {
+        int index = encode(board);
+        if (table[index] != UNREACHABLE) return (table[index] & 0xFF) >>> 4;
+
+        int value, best = NO_MOVE;
+        if (board.winner() != Board.EMPTY) {
+            value = LOSS; // the previous player just completed a line
+        } else if (board.isFull()) {
+            value = DRAW;
+        } else {
+            value = -1;
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (!board.isEmpty(cell)) continue;
+                board.play(cell);
+                int v = WIN - solve(board, table);
+                board.undo();
+                if (v > value) {
+                    value = v;
+                    best = cell;
+                }
+            }
+        }
+        table[index] = (byte) (value << 4 | best);
+        return value;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        long start = System.nanoTime();
+        int reachable = generate(file);
+        System.out.printf("Wrote %s: %d reachable positions in %.1f ms%n",
+            file, reachable, (System.nanoTime() - start) / 1e6);
+    }
+}
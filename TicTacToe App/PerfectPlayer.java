@@ -0,0 +1,50 @@
+package TicTacToeApp;
+
+import java.nio.file.Path;
+
+/**
+ * Plays 3x3 from the precomputed {@link PerfectPlayTable}. When the table file
+ * is missing or stale, or the board is not 3x3, it falls back to live search.
+ */
+public class PerfectPlayer implements MoveProvider {
+    private final PerfectPlayTable table;
+    private final MoveProvider fallback;
+    private boolean usedTable;
+
+    public PerfectPlayer(Path tableFile, MoveProvider fallback) {
+        this.table = PerfectPlayTable.open(tableFile);
+        this.fallback = fallback;
+    }
+
+    public boolean hasTable() {
+        return table != null;
+    }
+
+    @Override
+    public int selectMove(Board board) {
+        if (table != null && PerfectPlayTable.supports(board)) {
+            int move = table.bestMove(board);
+            if (move >= 0) {
+                usedTable = true;
+                return move;
+            }
+        }
+        usedTable = false;
+        return fallback.selectMove(board);
+    }
+
+    @Override
+    public String name() {
+        return "perfect";
+    }
+
+    @Override
+    public String stats() {
+        return usedTable ? "table lookup" : "live search: " + fallback.stats();
+    }
+
+    @Override
+    public void stop() {
+        fallback.stop();
+    }
+}
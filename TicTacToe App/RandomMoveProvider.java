@@ -0,0 +1,25 @@
+package TicTacToeApp;
+
+import java.util.Random;
+
+/** Picks a uniformly random empty cell, like the original computer opponent. */
+public class RandomMoveProvider implements MoveProvider {
+    private final Random random;
+    private int[] moves = new int[0];
+
+    public RandomMoveProvider(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int selectMove(Board board) {
+        if (moves.length < board.cellCount()) moves = new int[board.cellCount()];
+        int n = board.emptyCells(moves);
+        return n == 0 ? -1 : moves[random.nextInt(n)];
+    }
+
+    @Override
+    public String name() {
+        return "random";
+    }
+}
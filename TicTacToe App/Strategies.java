@@ -0,0 +1,65 @@
+package TicTacToeApp;
+
+import java.util.Random;
+
+/**
+ * Builds computer players from short specs used on command lines and over the
+ * wire: {@code random}, {@code heuristic}, {@code alphabeta[:depth]} and
+ * {@code mcts[:playouts]}.
+ */
+public final class Strategies {
+    private Strategies() {
+    }
+
+    public static boolean isKnown(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length > 2) return false;
+        if (parts.length == 2 && !parts[1].matches("\\d{1,6}")) return false;
+        return switch (parts[0]) {
+            case "random", "heuristic", "alphabeta", "mcts" -> true;
+            default -> false;
+        };
+    }
+
+    /** The number after the colon (search depth or playouts), or -1 if there is none. */
+    public static int param(String spec) {
+        String[] parts = spec.split(":");
+        return parts.length > 1 ? Integer.parseInt(parts[1]) : -1;
+    }
+
+    /** The strategy without its parameter, e.g. {@code mcts} for {@code mcts:500}. */
+    public static String kind(String spec) {
+        return spec.split(":")[0];
+    }
+
+    /**
+     * Sets the depth or playout limit of {@code spec} on a player made from
+     * the same kind of spec, so one player can be reused across parameters.
+     */
+    public static void applyLimit(MoveProvider player, String spec) {
+        int param = param(spec);
+        if (player instanceof AlphaBetaPlayer ab) ab.setMaxDepth(param > 0 ? param : 4);
+        else if (player instanceof MctsPlayer mcts) mcts.setMaxPlayouts(param > 0 ? param : 1000);
+    }
+
+    /** All randomness in the returned player comes from {@code rnd}. */
+    public static MoveProvider create(String spec, Random rnd) {
+        // A depth limit instead of a time budget keeps results independent of machine speed
+        return create(spec, rnd, 3_600_000L);
+    }
+
+    /**
+     * As {@link #create(String, Random)}, but searches also stop after
+     * {@code budgetMillis} per move, whatever depth or playouts were asked for.
+     */
+    public static MoveProvider create(String spec, Random rnd, long budgetMillis) {
+        if (!isKnown(spec)) throw new IllegalArgumentException("Unknown strategy: " + spec);
+        int param = param(spec);
+        return switch (spec.split(":")[0]) {
+            case "random" -> new RandomMoveProvider(rnd);
+            case "heuristic" -> new HeuristicMoveProvider(rnd);
+            case "alphabeta" -> new AlphaBetaPlayer(budgetMillis, param > 0 ? param : 4, 1 << 16);
+            default -> new MctsPlayer(budgetMillis, param > 0 ? param : 1000, 1, 1 << 16, rnd.nextLong());
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package TicTacToeApp;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashes for all 8 symmetries (rotations and reflections) of a square
+ * board, updated incrementally. The canonical key is the smallest of the 8, so
+ * positions that are mirror images share one transposition table entry.
+ */
+final class SymmetryHasher {
+    static final int SYMMETRIES = 8;
+
+    private final int cells;
+    private final long[][] keys = new long[3][];
+    // map[s][cell] = where cell lands under symmetry s; inverse[s] undoes it
+    private final int[][] map = new int[SYMMETRIES][];
+    private final int[][] inverse = new int[SYMMETRIES][];
+    private final long[] hashes = new long[SYMMETRIES];
+    private int canonicalSymmetry;
+
+    SymmetryHasher(int size) {
+        cells = size * size;
+        SplittableRandom rnd = new SplittableRandom(0x5EED_7AC7L ^ size);
+        keys[Board.X] = new long[cells];
+        keys[Board.O] = new long[cells];
+        for (int i = 0; i < cells; i++) {
+            keys[Board.X][i] = rnd.nextLong();
+            keys[Board.O][i] = rnd.nextLong();
+        }
+        int n = size - 1;
+        for (int s = 0; s < SYMMETRIES; s++) {
+            map[s] = new int[cells];
+            inverse[s] = new int[cells];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    int rr, cc;
+                    switch (s) {
+                        case 0 -> { rr = r; cc = c; }
+                        case 1 -> { rr = c; cc = n - r; }
+                        case 2 -> { rr = n - r; cc = n - c; }
+                        case 3 -> { rr = n - c; cc = r; }
+                        case 4 -> { rr = r; cc = n - c; }
+                        case 5 -> { rr = n - r; cc = c; }
+                        case 6 -> { rr = c; cc = r; }
+                        default -> { rr = n - c; cc = n - r; }
+                    }
+                    map[s][r * size + c] = rr * size + cc;
+                    inverse[s][rr * size + cc] = r * size + c;
+                }
+            }
+        }
+    }
+
+    void load(Board board) {
+        java.util.Arrays.fill(hashes, 0L);
+        for (int cell = 0; cell < cells; cell++) {
+            int p = board.get(cell);
+            if (p != Board.EMPTY) toggle(p, cell);
+        }
+    }
+
+    void toggle(int player, int cell) {
+        long[] k = keys[player];
+        for (int s = 0; s < SYMMETRIES; s++) hashes[s] ^= k[map[s][cell]];
+    }
+
+    /** Returns the canonical key and remembers which symmetry produced it. */
+    long canonical() {
+        long best = hashes[0];
+        int sym = 0;
+        for (int s = 1; s < SYMMETRIES; s++) {
+            if (Long.compareUnsigned(hashes[s], best) < 0) {
+                best = hashes[s];
+                sym = s;
+            }
+        }
+        canonicalSymmetry = sym;
+        return best;
+    }
+
+    /** Translates a move into the frame of the last {@link #canonical()} key. */
+    int toCanonical(int cell) {
+        return map[canonicalSymmetry][cell];
+    }
+
+    int fromCanonical(int cell) {
+        return inverse[canonicalSymmetry][cell];
+    }
+}
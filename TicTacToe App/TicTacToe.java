@@ -3,32 +3,75 @@ package TicTacToeApp;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 public class TicTacToe extends JFrame implements ActionListener {
-    private final JButton[][] buttons = new JButton[3][3];
+    private final Board board;
+    private final JButton[] buttons;
     private JLabel statusLabel; // removed final
+    private final JLabel infoLabel = new JLabel(" ");
     private boolean gameOver = false;
     private final Random random = new Random();
 
+    // Built on first use, so an unused Monte Carlo player never allocates its pool and trees
+    private final List<Supplier<MoveProvider>> factories;
+    private final MoveProvider[] providers;
+    private final JComboBox<String> difficulty;
+    // Searches run here, one at a time, never on the EDT
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "tictactoe-search");
+        t.setDaemon(true);
+        return t;
+    });
+    private int gameId = 0;
+
     public TicTacToe() { // corrected constructor name
+        this(3, 3);
+    }
+
+    public TicTacToe(int size, int winLength) {
+        board = new Board(size, winLength);
+        buttons = new JButton[board.cellCount()];
+        long budget = size <= 3 ? 500 : 1500;
+        factories = List.of(
+            () -> new RandomMoveProvider(random),
+            () -> new AlphaBetaPlayer(budget),
+            () -> new PerfectPlayer(Paths.get(PerfectPlayTable.DEFAULT_FILE), new AlphaBetaPlayer(500)),
+            () -> new MctsPlayer(budget)
+        );
+        providers = new MoveProvider[factories.size()];
+        difficulty = new JComboBox<>(new String[] {"Easy", "Hard", "Perfect", "Monte Carlo"});
+        difficulty.setSelectedIndex(1);
+        difficulty.addActionListener(_ -> provider(difficulty.getSelectedIndex()));
+        provider(difficulty.getSelectedIndex());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                shutdown();
+            }
+        });
+
         setTitle("Tic Tac Toe - Play vs Computer");
         setDefaultCloseOperation(EXIT_ON_CLOSE);
-        setSize(400, 450);
+        setSize(Math.max(400, size * 40), Math.max(450, size * 40 + 50));
         setLayout(new BorderLayout());
 
-        JPanel grid = new JPanel(new GridLayout(3, 3));
-        Font font = new Font("Arial", Font.BOLD, 40);
+        JPanel grid = new JPanel(new GridLayout(size, size));
+        Font font = new Font("Arial", Font.BOLD, size <= 3 ? 40 : Math.max(12, 120 / size));
 
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                buttons[i][j] = new JButton("");
-                buttons[i][j].setFont(font);
-                buttons[i][j].addActionListener(this);
-                grid.add(buttons[i][j]);
-            }
+        for (int i = 0; i < buttons.length; i++) {
+            buttons[i] = new JButton("");
+            buttons[i].setFont(font);
+            buttons[i].setMargin(new Insets(0, 0, 0, 0));
+            buttons[i].putClientProperty("cell", i);
+            buttons[i].addActionListener(this);
+            grid.add(buttons[i]);
         }
 
         statusLabel = new JLabel("Your turn (X)");
@@ -38,9 +81,14 @@ public class TicTacToe extends JFrame implements ActionListener {
         JButton resetButton = new JButton("Reset");
         resetButton.addActionListener(_ -> resetGame());
 
+        infoLabel.setHorizontalAlignment(JLabel.CENTER);
+        infoLabel.setFont(new Font("Verdana", Font.PLAIN, 11));
+
         JPanel bottomPanel = new JPanel(new BorderLayout());
         bottomPanel.add(statusLabel, BorderLayout.CENTER);
         bottomPanel.add(resetButton, BorderLayout.EAST);
+        bottomPanel.add(difficulty, BorderLayout.WEST);
+        bottomPanel.add(infoLabel, BorderLayout.SOUTH);
 
         add(grid, BorderLayout.CENTER);
         add(bottomPanel, BorderLayout.SOUTH);
@@ -52,96 +100,108 @@ public class TicTacToe extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent e) {
         if (gameOver) return;
 
-        JButton btn = (JButton) e.getSource();
-        if (!btn.getText().equals("")) return;
+        int cell = (Integer) ((JButton) e.getSource()).getClientProperty("cell");
+        if (!board.isEmpty(cell) || board.toMove() != Board.X) return;
 
-        btn.setText("X");
-        btn.setForeground(Color.BLUE);
+        applyMove(cell);
 
-        if (checkWin("X")) {
+        if (board.winner() == Board.X) {
             statusLabel.setText("You win! 🎉");
             gameOver = true;
             return;
         }
 
-        if (isDraw()) {
+        if (board.isFull()) {
             statusLabel.setText("Draw!");
             gameOver = true;
             return;
         }
 
-        statusLabel.setText("Computer's turn (O)");
-        Timer t = new Timer(500, _ -> {
-            computerMove();
-            if (checkWin("O")) {
-                statusLabel.setText("Computer wins! 🤖");
-                gameOver = true;
-            } else if (isDraw()) {
-                statusLabel.setText("Draw!");
-                gameOver = true;
-            } else {
-                statusLabel.setText("Your turn (X)");
-            }
-        });
-        t.setRepeats(false);
-        t.start();
+        statusLabel.setText("Computer's turn (O) - thinking...");
+        computerMove();
     }
 
     private void computerMove() {
-        List<JButton> empty = new ArrayList<>();
-        for (JButton[] row : buttons)
-            for (JButton b : row)
-                if (b.getText().isEmpty())
-                    empty.add(b);
-
-        if (!empty.isEmpty()) {
-            JButton move = empty.get(random.nextInt(empty.size()));
-            move.setText("O");
-            move.setForeground(Color.RED);
-        }
-    }
-
-    private boolean checkWin(String symbol) {
-        for (int i = 0; i < 3; i++) {
-            if (symbol.equals(buttons[i][0].getText()) &&
-                symbol.equals(buttons[i][1].getText()) &&
-                symbol.equals(buttons[i][2].getText())) return true;
-
-            if (symbol.equals(buttons[0][i].getText()) &&
-                symbol.equals(buttons[1][i].getText()) &&
-                symbol.equals(buttons[2][i].getText())) return true;
-        }
-
-        if (symbol.equals(buttons[0][0].getText()) &&
-            symbol.equals(buttons[1][1].getText()) &&
-            symbol.equals(buttons[2][2].getText())) return true;
-
-        if (symbol.equals(buttons[0][2].getText()) &&
-            symbol.equals(buttons[1][1].getText()) &&
-            symbol.equals(buttons[2][0].getText())) return true;
+        MoveProvider provider = provider(difficulty.getSelectedIndex());
+        Board snapshot = new Board(board.size(), board.winLength());
+        snapshot.copyFrom(board);
+        int id = gameId;
+        long asked = System.nanoTime();
+
+        SwingWorker<Integer, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Integer doInBackground() {
+                return provider.selectMove(snapshot);
+            }
 
-        return false;
+            @Override
+            protected void done() {
+                if (id != gameId) return; // game was reset while searching
+                int move;
+                try {
+                    move = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    statusLabel.setText("Computer failed to move");
+                    ex.printStackTrace();
+                    return;
+                }
+                if (move < 0) return;
+                applyMove(move);
+                long ms = (System.nanoTime() - asked) / 1_000_000;
+                infoLabel.setText(provider.name() + " answered in " + ms + " ms  " + provider.stats());
+
+                if (board.winner() == Board.O) {
+                    statusLabel.setText("Computer wins! 🤖");
+                    gameOver = true;
+                } else if (board.isFull()) {
+                    statusLabel.setText("Draw!");
+                    gameOver = true;
+                } else {
+                    statusLabel.setText("Your turn (X)");
+                }
+            }
+        };
+        searchExecutor.execute(worker);
     }
 
-    private boolean isDraw() {
-        for (JButton[] row : buttons)
-            for (JButton b : row)
-                if (b.getText().isEmpty())
-                    return false;
-        return true;
+    // The board is the source of truth; buttons only mirror it
+    private void applyMove(int cell) {
+        boolean human = board.toMove() == Board.X;
+        board.play(cell);
+        buttons[cell].setText(human ? "X" : "O");
+        buttons[cell].setForeground(human ? Color.BLUE : Color.RED);
     }
 
     private void resetGame() {
-        for (JButton[] row : buttons)
-            for (JButton b : row) {
-                b.setText("");
-                b.setEnabled(true);
-            }
+        gameId++;
+        for (MoveProvider p : providers) if (p != null) p.stop();
+        board.reset();
+        for (JButton b : buttons) {
+            b.setText("");
+            b.setEnabled(true);
+        }
         gameOver = false;
         statusLabel.setText("Your turn (X)");
+        infoLabel.setText(" ");
+    }
+
+    private MoveProvider provider(int index) {
+        if (providers[index] == null) providers[index] = factories.get(index).get();
+        return providers[index];
+    }
+
+    private void shutdown() {
+        for (MoveProvider p : providers) {
+            if (p == null) continue;
+            p.stop();
+            if (p instanceof MctsPlayer mcts) mcts.shutdown();
+        }
+        searchExecutor.shutdownNow();
     }
 
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(TicTacToe::new);
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int winLength = args.length > 1 ? Integer.parseInt(args[1]) : Math.min(size, 5);
+        SwingUtilities.invokeLater(() -> new TicTacToe(size, winLength));
     }
 }
@@ -0,0 +1,111 @@
+package TicTacToeApp;
+
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless self-play between two strategies; never touches Swing.
+ *
+ * <pre>
+ * java TicTacToeApp.Tournament [a] [b] [games] [size] [winLength] [threads] [seed]
+ * </pre>
+ *
+ * Strategies are specs understood by {@link Strategies}. Thread t plays
+ * games t, t + threads, ... with its own seeded RNG, and colours alternate
+ * every game, so a run is reproducible for a given seed and thread count.
+ * Totals and games/sec are printed once a second while the run is in progress.
+ */
+public final class Tournament {
+    private final String specA, specB;
+    private final long games;
+    private final int size, winLength, threads;
+    private final long seed;
+
+    private final LongAdder played = new LongAdder();
+    private final LongAdder winsA = new LongAdder();
+    private final LongAdder winsB = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+
+    public Tournament(String specA, String specB, long games, int size, int winLength, int threads, long seed) {
+        this.specA = specA;
+        this.specB = specB;
+        this.games = games;
+        this.size = size;
+        this.winLength = winLength;
+        this.threads = threads;
+        this.seed = seed;
+        if (!Strategies.isKnown(specA)) throw new IllegalArgumentException("Unknown strategy: " + specA);
+        if (!Strategies.isKnown(specB)) throw new IllegalArgumentException("Unknown strategy: " + specB);
+    }
+
+    public void run() throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> play(index), "tournament-" + t);
+            workers[t].start();
+        }
+
+        long start = System.nanoTime();
+        while (!allDone(workers, 1000)) report(start);
+        report(start);
+    }
+
+    private void play(int index) {
+        Random rnd = new Random(seed * 0x9E3779B97F4A7C15L + index);
+        MoveProvider a = Strategies.create(specA, rnd);
+        MoveProvider b = Strategies.create(specB, rnd);
+        Board board = new Board(size, winLength);
+
+        for (long g = index; g < games; g += threads) {
+            boolean aIsX = (g & 1) == 0;
+            board.reset();
+            while (!board.isGameOver()) {
+                boolean xToMove = board.toMove() == Board.X;
+                MoveProvider p = xToMove == aIsX ? a : b;
+                board.play(p.selectMove(board));
+            }
+            int w = board.winner();
+            if (w == Board.EMPTY) draws.increment();
+            else if ((w == Board.X) == aIsX) winsA.increment();
+            else winsB.increment();
+            played.increment();
+        }
+
+        if (a instanceof MctsPlayer m) m.shutdown();
+        if (b instanceof MctsPlayer m) m.shutdown();
+    }
+
+    private void report(long start) {
+        long n = played.sum();
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,d/%,d games  %s %.2f%%  %s %.2f%%  draw %.2f%%  %,.0f games/s%n",
+            n, games, specA, pct(winsA.sum(), n), specB, pct(winsB.sum(), n), pct(draws.sum(), n),
+            secs == 0 ? 0 : n / secs);
+    }
+
+    private static double pct(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+
+    private static boolean allDone(Thread[] workers, long waitMillis) throws InterruptedException {
+        long until = System.currentTimeMillis() + waitMillis;
+        for (Thread t : workers) {
+            long left = until - System.currentTimeMillis();
+            if (left > 0) t.join(left);
+            if (t.isAlive()) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String a = args.length > 0 ? args[0] : "random";
+        String b = args.length > 1 ? args[1] : "heuristic";
+        long games = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000;
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        int winLength = args.length > 4 ? Integer.parseInt(args[4]) : Math.min(size, 5);
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : 1;
+        new Tournament(a, b, games, size, winLength, threads, seed).run();
+    }
+}
@@ -0,0 +1,85 @@
+package TicTacToeApp;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size, two-way bucketed transposition table. The first slot of a bucket
+ * keeps the deepest entry of the current search, the second always takes the
+ * newest one, so the table never grows and stale entries age out.
+ * Not thread-safe; each search owns its table.
+ */
+final class TranspositionTable {
+    static final int EXACT = 0;
+    static final int LOWER = 1;
+    static final int UPPER = 2;
+
+    private static final long VALID = 1L << 63;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private int generation = 0;
+
+    // Filled in by a successful probe()
+    int score, depth, flag, move;
+
+    long probes, hits, stores, evictions;
+
+    TranspositionTable(int entries) {
+        int buckets = Integer.highestOneBit(Math.max(2, entries) / 2);
+        keys = new long[buckets * 2];
+        data = new long[buckets * 2];
+        bucketMask = buckets - 1;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    void newSearch() {
+        generation = (generation + 1) & 0x1F;
+        probes = hits = stores = evictions = 0;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    boolean probe(long key) {
+        probes++;
+        int i = slot(key);
+        long d;
+        if (keys[i] == key && (d = data[i]) != 0 || keys[i + 1] == key && (d = data[i + 1]) != 0) {
+            score = (int) d;
+            move = (int) ((d >>> 32) & 0xFFFF) - 1;
+            depth = (int) ((d >>> 48) & 0xFF);
+            flag = (int) ((d >>> 56) & 0x3);
+            hits++;
+            return true;
+        }
+        return false;
+    }
+
+    void store(long key, int depth, int flag, int score, int move) {
+        stores++;
+        long d = VALID | (long) generation << 58 | (long) flag << 56 | (long) (depth & 0xFF) << 48
+            | (long) ((move + 1) & 0xFFFF) << 32 | (score & 0xFFFFFFFFL);
+        int i = slot(key);
+        long old = data[i];
+        boolean replaceFirst = old == 0 || keys[i] == key
+            || ((old >>> 58) & 0x1F) != generation || ((old >>> 48) & 0xFF) <= depth;
+        if (!replaceFirst) i++;
+        if (data[i] != 0 && keys[i] != key) evictions++;
+        keys[i] = key;
+        data[i] = d;
+    }
+
+    double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    private int slot(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) << 1;
+    }
+}